@@ -0,0 +1,113 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.keerthimac.bill_tracker_system.entity.BillItem;
+import com.keerthimac.bill_tracker_system.entity.Brand;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.entity.SupplierMaterialPrice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-seed entity graphs shaped like the ones the services hand to the mappers: a bill with its site, supplier
+ * and items, each item with its material, category and brand. Materials are shared between items the way a
+ * persistence context shares them, so the graphs have realistic fan-in.
+ */
+final class BillGraphs {
+
+    private static final int MATERIAL_COUNT = 200;
+    private static final int CATEGORY_COUNT = 12;
+    private static final String[] UNITS = {"PCS", "KG", "BAG", "M", "L"};
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Site site = new Site(1L, "Colombo Main Site", "Colombo 03");
+    private final Supplier supplier = new Supplier(1L, "Lanka Hardware (Pvt) Ltd", "N. Perera", "+94 11 2345678",
+            "orders@lankahardware.example", "No. 12, Galle Road, Colombo 03");
+    private final List<MasterMaterial> materials = new ArrayList<>(MATERIAL_COUNT);
+
+    BillGraphs() {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 6, 9, 30);
+        List<ItemCategory> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            categories.add(new ItemCategory((long) c + 1, "Category " + (c + 1)));
+        }
+        Brand brand = new Brand(1L, "Generic", "House brand", null, created, created);
+        for (int m = 0; m < MATERIAL_COUNT; m++) {
+            materials.add(new MasterMaterial((long) m + 1, String.format("MAT-%05d", m + 1), "Material " + (m + 1),
+                    "Standard grade material number " + (m + 1), UNITS[m % UNITS.length],
+                    categories.get(m % CATEGORY_COUNT), brand, created, created));
+        }
+    }
+
+    PurchaseBill bill(int itemCount) {
+        PurchaseBill bill = new PurchaseBill();
+        bill.setId(1L);
+        bill.setBillNumber("INV-2025-000123");
+        bill.setBillDate(LocalDate.of(2025, 3, 14));
+        bill.setSupplier(supplier);
+        bill.setSite(site);
+        bill.setOverallGrnStatus(OverallGrnStatus.PARTIALLY_RECEIVED);
+        bill.setCreatedAt(LocalDateTime.of(2025, 3, 14, 10, 15));
+        bill.setUpdatedAt(LocalDateTime.of(2025, 3, 15, 16, 40));
+
+        List<BillItem> items = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            MasterMaterial material = materials.get(random.nextInt(MATERIAL_COUNT));
+            BillItem item = new BillItem();
+            item.setId((long) i + 1);
+            item.setPurchaseBill(bill);
+            item.setMasterMaterial(material);
+            item.setQuantity(BigDecimal.valueOf(random.nextInt(1, 500)));
+            item.setUnit(material.getDefaultUnit());
+            item.setUnitPrice(BigDecimal.valueOf(random.nextInt(100, 500_000), 2));
+            item.setItemTotalPrice(item.getQuantity().multiply(item.getUnitPrice()).setScale(2, RoundingMode.HALF_UP));
+            item.setBillDate(bill.getBillDate());
+            item.setGrnReceivedForItem(i % 3 == 0);
+            items.add(item);
+            total = total.add(item.getItemTotalPrice());
+        }
+        bill.setBillItems(items);
+        bill.setTotalItemCount(itemCount);
+        bill.setReceivedItemCount((int) items.stream().filter(BillItem::isGrnReceivedForItem).count());
+        bill.setTotalAmount(total);
+        return bill;
+    }
+
+    List<SupplierMaterialPrice> prices(int count) {
+        List<SupplierMaterialPrice> prices = new ArrayList<>(count);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        for (int p = 0; p < count; p++) {
+            MasterMaterial material = materials.get(p % MATERIAL_COUNT);
+            SupplierMaterialPrice price = new SupplierMaterialPrice();
+            price.setId((long) p + 1);
+            price.setSupplier(supplier);
+            price.setMasterMaterial(material);
+            price.setPrice(BigDecimal.valueOf(random.nextInt(100, 500_000), 2));
+            price.setUnit(material.getDefaultUnit());
+            price.setEffectiveFromDate(from.plusDays(p % 365));
+            price.setCreatedAt(material.getCreatedAt());
+            price.setUpdatedAt(material.getUpdatedAt());
+            prices.add(price);
+        }
+        return prices;
+    }
+
+    List<MasterMaterial> materials(int count) {
+        List<MasterMaterial> result = new ArrayList<>(count);
+        for (int m = 0; m < count; m++) {
+            result.add(materials.get(m % MATERIAL_COUNT));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.mapper.PurchaseBillMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the JSON serialisation of PurchaseBillResponseDTO for bills of 1, 50 and 500 items, alone and
+ * together with the mapping that precedes it on GET /api/v1/purchase-bills/{id}. The ObjectMapper is built the way
+ * Spring Boot builds the one used by the message converters (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private PurchaseBillMapper purchaseBillMapper;
+    private ObjectWriter writer;
+
+    private PurchaseBill bill;
+    private PurchaseBillResponseDTO dto;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext("com.keerthimac.bill_tracker_system.mapper");
+        purchaseBillMapper = context.getBean(PurchaseBillMapper.class);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(PurchaseBillResponseDTO.class);
+
+        bill = new BillGraphs().bill(size);
+        dto = purchaseBillMapper.toDto(bill);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(purchaseBillMapper.toDto(bill));
+    }
+}
@@ -0,0 +1,97 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.keerthimac.bill_tracker_system.dto.BillItemResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.MasterMaterialResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.SupplierMaterialPrice;
+import com.keerthimac.bill_tracker_system.mapper.BillItemMapper;
+import com.keerthimac.bill_tracker_system.mapper.MasterMaterialMapper;
+import com.keerthimac.bill_tracker_system.mapper.PurchaseBillMapper;
+import com.keerthimac.bill_tracker_system.mapper.SupplierMaterialPriceMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the MapStruct mappers on the response path, for bills (and price and material lists) of
+ * 1, 50 and 500 elements. Run with the gc profiler (the default jmh.args) for the allocation rate per operation.
+ * The graphs are plain objects, so this measures the mapping itself; lazy-loading cost shows up in the traces
+ * of a real request instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private PurchaseBillMapper purchaseBillMapper;
+    private BillItemMapper billItemMapper;
+    private SupplierMaterialPriceMapper supplierMaterialPriceMapper;
+    private MasterMaterialMapper masterMaterialMapper;
+
+    private PurchaseBill bill;
+    private List<SupplierMaterialPrice> prices;
+    private List<MasterMaterial> materials;
+
+    @Setup
+    public void setUp() {
+        // The generated mappers are Spring components wired to each other, so let a context of just them do it
+        context = new AnnotationConfigApplicationContext("com.keerthimac.bill_tracker_system.mapper");
+        purchaseBillMapper = context.getBean(PurchaseBillMapper.class);
+        billItemMapper = context.getBean(BillItemMapper.class);
+        supplierMaterialPriceMapper = context.getBean(SupplierMaterialPriceMapper.class);
+        masterMaterialMapper = context.getBean(MasterMaterialMapper.class);
+
+        BillGraphs graphs = new BillGraphs();
+        bill = graphs.bill(size);
+        prices = graphs.prices(size);
+        materials = graphs.materials(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PurchaseBillResponseDTO purchaseBillToDto() {
+        return purchaseBillMapper.toDto(bill);
+    }
+
+    @Benchmark
+    public List<BillItemResponseDTO> billItemsToDtoList() {
+        return billItemMapper.toResponseDtoList(bill.getBillItems());
+    }
+
+    @Benchmark
+    public List<SupplierMaterialPriceResponseDTO> supplierMaterialPricesToDtoList() {
+        return supplierMaterialPriceMapper.toDtoList(prices);
+    }
+
+    @Benchmark
+    public List<MasterMaterialResponseDTO> masterMaterialsToDtoList() {
+        return masterMaterialMapper.toDtoList(materials);
+    }
+}
@@ -0,0 +1,48 @@
+package com.keerthimac.bill_tracker_system.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes an archived bill as gzip-compressed JSON of its PurchaseBillResponseDTO, so reading it back
+ * needs no joins and returns exactly what the live endpoint returned before the bill was archived.
+ */
+@Component
+public class ArchivedBillCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ArchivedBillCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(PurchaseBillResponseDTO bill) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, bill);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode archived bill " + bill.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public PurchaseBillResponseDTO decode(byte[] payload) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gzip, PurchaseBillResponseDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode archived bill payload", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.keerthimac.bill_tracker_system.archive;
+
+import com.keerthimac.bill_tracker_system.service.BillArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly move of closed bills older than bill-tracker.archive.min-age-days into the archive tier,
+ * keeping purchase_bills and bill_items down to the bills that can still change.
+ */
+@Component
+@ConditionalOnProperty(name = "bill-tracker.archive.enabled", havingValue = "true")
+public class BillArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BillArchiveJob.class);
+
+    private final BillArchiveService billArchiveService;
+    private final int minAgeDays;
+    private final int batchSize;
+
+    @Autowired
+    public BillArchiveJob(BillArchiveService billArchiveService,
+                          @Value("${bill-tracker.archive.min-age-days:365}") int minAgeDays,
+                          @Value("${bill-tracker.archive.batch-size:200}") int batchSize) {
+        this.billArchiveService = billArchiveService;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${bill-tracker.archive.cron:0 30 2 * * *}")
+    public void archiveClosedBills() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+        int archived = billArchiveService.archiveBillsOlderThan(cutoff, batchSize);
+        log.info("Archived {} closed bill(s) dated before {}", archived, cutoff);
+    }
+}
@@ -0,0 +1,311 @@
+package com.keerthimac.bill_tracker_system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.keerthimac.bill_tracker_system.dto.MaterialUnitDTO;
+import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
+import com.keerthimac.bill_tracker_system.entity.SupplierMaterialPrice;
+import com.keerthimac.bill_tracker_system.mapper.SupplierMaterialPriceMapper;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierMaterialPriceRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through, in-memory index of active supplier prices.
+ * <p>
+ * For each (supplierId, masterMaterialId, unit) key it holds the active price entries sorted by effective-from date,
+ * so the active price on any date is a binary search instead of a database round trip. A key is loaded from the
+ * database on first use and must be invalidated by every write that can change its active prices
+ * (see SupplierMaterialPriceServiceImpl). Cached DTOs are shared snapshots: callers must treat them as read-only.
+ * <p>
+ * At most bill-tracker.price-index.maximum-size keys are kept, least recently used ones are evicted first. Keys whose
+ * supplier or master material does not exist are answered but never cached, so arbitrary client input cannot fill it.
+ */
+@Component
+public class ActivePriceIndex {
+
+    // Returned for keys whose supplier or master material does not exist; never cached
+    private static final PriceTimeline UNKNOWN_KEY = new PriceTimeline(List.of(), null);
+
+    private final SupplierMaterialPriceRepository supplierMaterialPriceRepository;
+    private final SupplierRepository supplierRepository;
+    private final MasterMaterialRepository masterMaterialRepository;
+    private final SupplierMaterialPriceMapper supplierMaterialPriceMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Cache<PriceKey, PriceTimeline> timelines;
+    // Bumped by every invalidation; a load that overlaps an invalidation is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ActivePriceIndex(SupplierMaterialPriceRepository supplierMaterialPriceRepository,
+                            SupplierRepository supplierRepository,
+                            MasterMaterialRepository masterMaterialRepository,
+                            SupplierMaterialPriceMapper supplierMaterialPriceMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${bill-tracker.price-index.maximum-size:10000}") long maximumSize) {
+        this.supplierMaterialPriceRepository = supplierMaterialPriceRepository;
+        this.supplierRepository = supplierRepository;
+        this.masterMaterialRepository = masterMaterialRepository;
+        this.supplierMaterialPriceMapper = supplierMaterialPriceMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timelines = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Finds the active price for a supplier, master material and unit on a date.
+     * Same result as SupplierMaterialPriceRepository.findActivePrice, served from memory after the first lookup of a key.
+     * @param supplierId The ID of the supplier.
+     * @param masterMaterialId The ID of the master material.
+     * @param unit The unit of measure (matched case-insensitively, like the database collation).
+     * @param date The date for which to find the active price.
+     * @return The active price, or empty if none is effective on that date.
+     */
+    public Optional<SupplierMaterialPriceResponseDTO> findActivePrice(Long supplierId, Long masterMaterialId,
+                                                                      String unit, LocalDate date) {
+        PriceKey key = new PriceKey(supplierId, masterMaterialId, unit);
+        PriceTimeline timeline = timelines.getIfPresent(key);
+        if (timeline == null) {
+            timeline = load(key);
+        }
+        return Optional.ofNullable(timeline.priceOn(date));
+    }
+
+    /**
+     * Bulk variant of findActivePrice for a whole bill: resolves every (masterMaterialId, unit) pair of one supplier.
+     * Keys already in memory are answered directly; all missing keys are loaded together with a single query.
+     * @param supplierId The ID of the supplier.
+     * @param items The material/unit pairs to resolve.
+     * @param date The date for which to find the active prices.
+     * @return The active price per item, in the same order as the items (null where none is effective).
+     */
+    public List<SupplierMaterialPriceResponseDTO> findActivePrices(Long supplierId, List<MaterialUnitDTO> items,
+                                                                   LocalDate date) {
+        List<PriceKey> keys = new ArrayList<>(items.size());
+        Map<PriceKey, PriceTimeline> resolved = new HashMap<>();
+        Set<Long> missingMaterialIds = new HashSet<>();
+        for (MaterialUnitDTO item : items) {
+            PriceKey key = new PriceKey(supplierId, item.getMasterMaterialId(), item.getUnit());
+            keys.add(key);
+            PriceTimeline timeline = timelines.getIfPresent(key);
+            if (timeline != null) {
+                resolved.put(key, timeline);
+            } else {
+                missingMaterialIds.add(key.masterMaterialId);
+            }
+        }
+
+        if (!missingMaterialIds.isEmpty()) {
+            resolved.putAll(loadAll(supplierId, missingMaterialIds, keys));
+        }
+
+        List<SupplierMaterialPriceResponseDTO> prices = new ArrayList<>(keys.size());
+        for (PriceKey key : keys) {
+            prices.add(resolved.get(key).priceOn(date));
+        }
+        return prices;
+    }
+
+    /**
+     * Invalidates one key now and again once the surrounding transaction completes, so a concurrent lookup
+     * cannot re-cache the pre-commit state.
+     * @param supplierId The ID of the supplier.
+     * @param masterMaterialId The ID of the master material.
+     * @param unit The unit of the price entry that changed.
+     */
+    public void invalidate(Long supplierId, Long masterMaterialId, String unit) {
+        PriceKey key = new PriceKey(supplierId, masterMaterialId, unit);
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every cached key. Used when data embedded in the cached DTOs (supplier, material or category details)
+     * changes, since those writes are rare and not keyed by price.
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void evict(PriceKey key) {
+        generation.incrementAndGet();
+        timelines.invalidate(key);
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        timelines.invalidateAll();
+    }
+
+    private PriceTimeline load(PriceKey key) {
+        long observedGeneration = generation.get();
+        PriceTimeline timeline = readOnlyTransaction.execute(status -> {
+            List<SupplierMaterialPrice> entries =
+                    supplierMaterialPriceRepository.findActivePriceTimeline(key.supplierId, key.masterMaterialId, key.unit);
+            if (entries.isEmpty() && !(supplierExists(key.supplierId) && key.masterMaterialId != null
+                    && masterMaterialRepository.existsById(key.masterMaterialId))) {
+                return UNKNOWN_KEY;
+            }
+            return new PriceTimeline(entries, supplierMaterialPriceMapper);
+        });
+        cache(key, timeline, observedGeneration);
+        return timeline;
+    }
+
+    // Loads every unit of the given materials at once; requested keys without active entries get an empty timeline,
+    // or UNKNOWN_KEY if their supplier or material does not exist
+    private Map<PriceKey, PriceTimeline> loadAll(Long supplierId, Set<Long> masterMaterialIds, List<PriceKey> requestedKeys) {
+        long observedGeneration = generation.get();
+        Map<PriceKey, PriceTimeline> loaded = readOnlyTransaction.execute(status -> {
+            Map<PriceKey, List<SupplierMaterialPrice>> entriesByKey = new LinkedHashMap<>();
+            for (SupplierMaterialPrice entry : supplierMaterialPriceRepository.findActivePriceTimelines(supplierId, masterMaterialIds)) {
+                PriceKey key = new PriceKey(supplierId, entry.getMasterMaterial().getId(), entry.getUnit());
+                entriesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry); // Query order is kept per key
+            }
+            Map<PriceKey, PriceTimeline> result = new HashMap<>();
+            entriesByKey.forEach((key, entries) -> result.put(key, new PriceTimeline(entries, supplierMaterialPriceMapper)));
+
+            List<PriceKey> keysWithoutEntries = new ArrayList<>();
+            Set<Long> materialsWithoutEntries = new HashSet<>();
+            for (PriceKey key : requestedKeys) {
+                if (masterMaterialIds.contains(key.masterMaterialId) && !result.containsKey(key)) {
+                    keysWithoutEntries.add(key);
+                    if (key.masterMaterialId != null) {
+                        materialsWithoutEntries.add(key.masterMaterialId);
+                    }
+                }
+            }
+            // The supplier exists if any entry was found; otherwise every key without entries is unknown unless it does
+            Set<Long> existingMaterialIds = materialsWithoutEntries.isEmpty()
+                    || (entriesByKey.isEmpty() && !supplierExists(supplierId))
+                    ? new HashSet<>() : masterMaterialRepository.findExistingIds(materialsWithoutEntries);
+            for (PriceKey key : keysWithoutEntries) {
+                result.put(key, key.masterMaterialId != null && existingMaterialIds.contains(key.masterMaterialId)
+                        ? new PriceTimeline(List.of(), supplierMaterialPriceMapper) : UNKNOWN_KEY);
+            }
+            return result;
+        });
+        loaded.forEach((key, timeline) -> cache(key, timeline, observedGeneration));
+        return loaded;
+    }
+
+    private boolean supplierExists(Long supplierId) {
+        return supplierId != null && supplierRepository.existsById(supplierId);
+    }
+
+    private void cache(PriceKey key, PriceTimeline timeline, long observedGeneration) {
+        if (timeline != UNKNOWN_KEY && generation.get() == observedGeneration) {
+            timelines.asMap().putIfAbsent(key, timeline);
+        }
+    }
+
+    private static final class PriceKey {
+        private final Long supplierId;
+        private final Long masterMaterialId;
+        private final String unit;
+
+        private PriceKey(Long supplierId, Long masterMaterialId, String unit) {
+            this.supplierId = supplierId;
+            this.masterMaterialId = masterMaterialId;
+            // The database compares units case-insensitively, so "bags" and "BAGS" must share one entry
+            this.unit = unit == null ? null : unit.trim().toUpperCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PriceKey)) return false;
+            PriceKey other = (PriceKey) o;
+            return Objects.equals(supplierId, other.supplierId)
+                    && Objects.equals(masterMaterialId, other.masterMaterialId)
+                    && Objects.equals(unit, other.unit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(supplierId, masterMaterialId, unit);
+        }
+    }
+
+    /**
+     * Active price entries of one key, sorted ascending by (effectiveFromDate, createdAt).
+     */
+    private static final class PriceTimeline {
+        private final LocalDate[] fromDates;
+        private final LocalDate[] toDates; // null element = open-ended
+        private final SupplierMaterialPriceResponseDTO[] prices;
+
+        private PriceTimeline(List<SupplierMaterialPrice> sortedEntries, SupplierMaterialPriceMapper mapper) {
+            int size = sortedEntries.size();
+            this.fromDates = new LocalDate[size];
+            this.toDates = new LocalDate[size];
+            this.prices = new SupplierMaterialPriceResponseDTO[size];
+            for (int i = 0; i < size; i++) {
+                SupplierMaterialPrice entry = sortedEntries.get(i);
+                fromDates[i] = entry.getEffectiveFromDate();
+                toDates[i] = entry.getEffectiveToDate();
+                prices[i] = mapper.toDto(entry);
+            }
+        }
+
+        /**
+         * Mirrors findActivePriceAsList: among entries with from &lt;= date &lt;= to, the one with the latest
+         * (effectiveFromDate, createdAt) wins. Binary search finds the last entry starting on or before the date;
+         * walking back only matters if active entries overlap, which the service prevents.
+         */
+        private SupplierMaterialPriceResponseDTO priceOn(LocalDate date) {
+            int low = 0;
+            int high = fromDates.length; // first index whose fromDate is after the date
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (fromDates[mid].isAfter(date)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            for (int i = low - 1; i >= 0; i--) {
+                if (toDates[i] == null || !toDates[i].isBefore(date)) {
+                    return prices[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.keerthimac.bill_tracker_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods and async MVC work (the streamed exports) run on Spring Boot's applicationTaskExecutor:
+// a bounded platform thread pool by default, virtual threads with spring.threads.virtual.enabled=true
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,48 @@
+package com.keerthimac.bill_tracker_system.config;
+
+import com.keerthimac.bill_tracker_system.jdbc.QueryObservationListener;
+import com.keerthimac.bill_tracker_system.jdbc.SlowQueryLogListener;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+// Wraps the DataSource in a single datasource-proxy when a JDBC listener is switched on:
+// - bill-tracker.slow-query-log.enabled=true: SlowQueryLogListener logs statements slower than the threshold
+// - bill-tracker.tracing.enabled=true: QueryObservationListener records a span per statement
+// With both off the unproxied pool is left as is and pays no per-statement cost.
+@Configuration
+public class DataSourceProxyConfig {
+
+    // static: a BeanPostProcessor must not force early initialisation of this configuration class
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment,
+                                                                 ObjectProvider<ObservationRegistry> observationRegistry) {
+        boolean slowQueryLog = environment.getProperty("bill-tracker.slow-query-log.enabled", Boolean.class, false);
+        boolean tracing = environment.getProperty("bill-tracker.tracing.enabled", Boolean.class, false);
+        long thresholdMillis = environment.getProperty("bill-tracker.slow-query-log.threshold-ms", Long.class, 500L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource || !(slowQueryLog || tracing)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean).name(beanName);
+                if (slowQueryLog) {
+                    builder.listener(new SlowQueryLogListener(thresholdMillis));
+                }
+                if (tracing) {
+                    // Resolved here, not in the factory method, so the registry is not created with the post-processors
+                    builder.listener(new QueryObservationListener(observationRegistry.getObject()));
+                }
+                return builder.build();
+            }
+        };
+    }
+}
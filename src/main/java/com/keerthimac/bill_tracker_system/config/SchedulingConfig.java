@@ -0,0 +1,10 @@
+package com.keerthimac.bill_tracker_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background maintenance jobs; each job is switched on by its own property
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,18 @@
+package com.keerthimac.bill_tracker_system.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Log exporter for finished spans (bill-tracker.tracing.log-exporter.enabled=true), for when no OTLP collector
+// is at hand. Spring Boot hands every SpanExporter bean to the OpenTelemetry SDK, next to the OTLP exporter.
+@Configuration
+@ConditionalOnProperty(name = "bill-tracker.tracing.log-exporter.enabled", havingValue = "true")
+public class TracingConfig {
+
+    @Bean
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,53 @@
+package com.keerthimac.bill_tracker_system.controller;
+
+import com.keerthimac.bill_tracker_system.dto.CategorySpendDTO;
+import com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO;
+import com.keerthimac.bill_tracker_system.service.MaterialAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class MaterialAnalyticsController {
+
+    private final MaterialAnalyticsService materialAnalyticsService;
+
+    @Autowired
+    public MaterialAnalyticsController(MaterialAnalyticsService materialAnalyticsService) {
+        this.materialAnalyticsService = materialAnalyticsService;
+    }
+
+    // GET: Quantity and spend per material (and unit) per site over a date range
+    @GetMapping("/materials")
+    public ResponseEntity<List<MaterialConsumptionDTO>> getMaterialConsumption(
+            @RequestParam(required = false) Long siteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(materialAnalyticsService.getMaterialConsumption(siteId, startDate, endDate));
+    }
+
+    // GET: Same as above, broken down by month; optionally for a single material
+    @GetMapping("/materials/monthly")
+    public ResponseEntity<List<MaterialConsumptionDTO>> getMonthlyMaterialConsumption(
+            @RequestParam(required = false) Long siteId,
+            @RequestParam(required = false) Long masterMaterialId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(materialAnalyticsService.getMonthlyMaterialConsumption(
+                siteId, masterMaterialId, startDate, endDate));
+    }
+
+    // GET: Spend per item category per site over a date range
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySpendDTO>> getCategorySpend(
+            @RequestParam(required = false) Long siteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(materialAnalyticsService.getCategorySpend(siteId, startDate, endDate));
+    }
+}
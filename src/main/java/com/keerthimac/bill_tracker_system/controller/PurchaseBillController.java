@@ -1,29 +1,57 @@
 package com.keerthimac.bill_tracker_system.controller;
 
+import com.keerthimac.bill_tracker_system.dto.BillGrnStatusDTO;
+import com.keerthimac.bill_tracker_system.dto.BillImportResultDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkGrnUpdateRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.CursorPageDTO;
+import com.keerthimac.bill_tracker_system.dto.GrnItemUpdateResponseDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+import com.keerthimac.bill_tracker_system.exporter.BillExportFormat;
+import com.keerthimac.bill_tracker_system.importer.BillImportFormat;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillExportService;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillImportService;
 import com.keerthimac.bill_tracker_system.service.PurchaseBillService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat; // For date parsing
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 // import org.springframework.web.multipart.MultipartFile; // Keep for future file upload
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/purchase-bills")
 public class PurchaseBillController {
 
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String VIEW_COMPACT = "compact";
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final PurchaseBillService purchaseBillService;
+    private final PurchaseBillImportService purchaseBillImportService;
+    private final PurchaseBillExportService purchaseBillExportService;
 
     @Autowired
-    public PurchaseBillController(PurchaseBillService purchaseBillService) {
+    public PurchaseBillController(PurchaseBillService purchaseBillService,
+                                  PurchaseBillImportService purchaseBillImportService,
+                                  PurchaseBillExportService purchaseBillExportService) {
         this.purchaseBillService = purchaseBillService;
+        this.purchaseBillImportService = purchaseBillImportService;
+        this.purchaseBillExportService = purchaseBillExportService;
     }
 
     // POST: Create a new Purchase Bill
@@ -47,30 +75,98 @@ public class PurchaseBillController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // GET: Retrieve all Purchase Bills with optional filtering
-    // No change in method signature needed for supplier integration.
-    // The list will contain PurchaseBillResponseDTOs with nested SupplierResponseDTO.
+    // Response header carrying the cursor of the next page of GET /purchase-bills (absent on the last page)
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // GET: Retrieve Purchase Bills with optional filtering, newest first, one keyset page at a time.
+    // The body stays a plain list; pass the X-Next-Cursor response header back as 'cursor' to get the following page.
+    // size defaults to 50 and is capped at 200, so latency and heap use do not grow with the table.
+    // The PurchaseBillResponseDTOs include the nested SupplierResponseDTO.
+    // view=summary returns PurchaseBillSummaryDTOs instead (no items, no nested objects) for list screens.
     @GetMapping
-    public ResponseEntity<List<PurchaseBillResponseDTO>> getAllPurchaseBills(
+    public ResponseEntity<List<?>> getAllPurchaseBills(
             @RequestParam(required = false) Long siteId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-
-        List<PurchaseBillResponseDTO> bills;
-        if (siteId != null && startDate != null && endDate != null) {
-            bills = purchaseBillService.getPurchaseBillsBySiteAndDateRange(siteId, startDate, endDate);
-        } else if (siteId != null) {
-            bills = purchaseBillService.getPurchaseBillsBySite(siteId);
-        } else if (startDate != null && endDate != null) {
-            bills = purchaseBillService.getPurchaseBillsByDateRange(startDate, endDate);
-        } else {
-            bills = purchaseBillService.getAllPurchaseBills();
-        }
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
 
-        if (bills.isEmpty()) {
+        CursorPageDTO<?> page = isSummaryView(view)
+                ? purchaseBillService.getPurchaseBillSummariesPage(siteId, startDate, endDate, cursor, size)
+                : purchaseBillService.getPurchaseBillsPage(siteId, startDate, endDate, cursor, size);
+
+        if (page.getItems().isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(bills);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // GET: Keyset-paginated listing, newest bills first.
+    // Pass the returned nextCursor as 'cursor' to get the following page; size defaults to 50 and is capped at 200.
+    // view=summary pages over PurchaseBillSummaryDTOs instead of full bills.
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<?>> getPurchaseBillsPage(
+            @RequestParam(required = false) Long siteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        CursorPageDTO<?> page = isSummaryView(view)
+                ? purchaseBillService.getPurchaseBillSummariesPage(siteId, startDate, endDate, cursor, size)
+                : purchaseBillService.getPurchaseBillsPage(siteId, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    private static boolean isSummaryView(String view) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (VIEW_FULL.equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new InvalidDataException("Unknown view '" + view + "'. Expected '" + VIEW_FULL + "' or '" + VIEW_SUMMARY + "'.");
+    }
+
+    // GET: Export bills with their lines as CSV or NDJSON, optionally filtered by site and date range.
+    // Rows are streamed from the database to the response as they are read; nothing is collected in memory.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPurchaseBills(
+            @RequestParam(required = false) Long siteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        BillExportFormat exportFormat;
+        try {
+            exportFormat = BillExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Unknown export format '" + format + "'. Expected 'csv' or 'ndjson'.");
+        }
+
+        StreamingResponseBody body = outputStream ->
+                purchaseBillExportService.exportBills(siteId, startDate, endDate, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"purchase-bills." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    // POST: Bulk import of bills, one bill line per CSV row or NDJSON line (raw request body, not multipart).
+    // The body is parsed as it streams in; the response reports counts and per-row errors.
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<BillImportResultDTO> importPurchaseBills(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        BillImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? BillImportFormat.CSV
+                : BillImportFormat.NDJSON;
+        return ResponseEntity.ok(purchaseBillImportService.importBills(body, format));
     }
 
     // PUT: Update general details of a Purchase Bill
@@ -88,15 +184,32 @@ public class PurchaseBillController {
     // PATCH or PUT: Update GRN status for a specific Bill Item
     // No direct impact from supplier integration on this endpoint's signature or core logic.
     // The response PurchaseBillResponseDTO will naturally include the updated supplier info.
+    // view=compact returns only the changed item and the bill's new GRN status instead of the whole bill
     @PatchMapping("/items/{billItemId}/grn")
-    public ResponseEntity<PurchaseBillResponseDTO> updateGrnForItem(
+    public ResponseEntity<?> updateGrnForItem(
             @PathVariable Long billItemId,
             @RequestParam boolean received,
-            @RequestParam(required = false) String remarks) {
+            @RequestParam(required = false) String remarks,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        if (VIEW_COMPACT.equalsIgnoreCase(view)) {
+            GrnItemUpdateResponseDTO update = purchaseBillService.updateGrnReceivedForItemCompact(billItemId, received, remarks);
+            return ResponseEntity.ok(update);
+        }
+        if (!VIEW_FULL.equalsIgnoreCase(view)) {
+            throw new InvalidDataException("Unknown view '" + view + "'. Expected '" + VIEW_FULL + "' or '" + VIEW_COMPACT + "'.");
+        }
         PurchaseBillResponseDTO updatedBill = purchaseBillService.updateGrnReceivedForItem(billItemId, received, remarks);
         return ResponseEntity.ok(updatedBill);
     }
 
+    // PATCH: Update GRN status for many Bill Items at once (e.g. a whole delivery), in one transaction.
+    // Returns the new GRN status of every affected bill instead of the full bills.
+    @PatchMapping("/items/grn")
+    public ResponseEntity<List<BillGrnStatusDTO>> updateGrnForItems(
+            @Valid @RequestBody BulkGrnUpdateRequestDTO requestDTO) {
+        return ResponseEntity.ok(purchaseBillService.updateGrnReceivedForItems(requestDTO));
+    }
+
     // PATCH or PUT: Update GRN hardcopy status for a Purchase Bill
     // No direct impact from supplier integration.
     @PatchMapping("/{billId}/grn-hardcopy")
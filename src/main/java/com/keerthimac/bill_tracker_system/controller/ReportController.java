@@ -0,0 +1,43 @@
+package com.keerthimac.bill_tracker_system.controller;
+
+import com.keerthimac.bill_tracker_system.dto.SpendRollupDTO;
+import com.keerthimac.bill_tracker_system.service.SpendReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportController {
+
+    private final SpendReportService spendReportService;
+
+    @Autowired
+    public ReportController(SpendReportService spendReportService) {
+        this.spendReportService = spendReportService;
+    }
+
+    // GET: Spend per site/supplier/month from the pre-aggregated rollups.
+    // groupBy=site-supplier (default), site or supplier; months are yyyy-MM and inclusive.
+    @GetMapping("/spend")
+    public ResponseEntity<List<SpendRollupDTO>> getSpend(
+            @RequestParam(defaultValue = "site-supplier") String groupBy,
+            @RequestParam(required = false) Long siteId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth) {
+        return ResponseEntity.ok(spendReportService.getSpend(groupBy, siteId, supplierId, fromMonth, toMonth));
+    }
+
+    // POST: Recompute all spend rollups from the bills (backfill or repair)
+    @PostMapping("/spend/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSpendRollups() {
+        int rows = spendReportService.rebuildRollups();
+        return ResponseEntity.ok(Map.of("rollupRows", rows));
+    }
+}
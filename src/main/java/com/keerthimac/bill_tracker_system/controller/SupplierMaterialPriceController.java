@@ -1,5 +1,7 @@
 package com.keerthimac.bill_tracker_system.controller;
 
+import com.keerthimac.bill_tracker_system.dto.ActivePriceResultDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkActivePriceRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.PriceRevisionLogDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
@@ -98,6 +100,14 @@ public class SupplierMaterialPriceController {
                 .orElseGet(() -> ResponseEntity.notFound().build()); // 404 if no active price found
     }
 
+    // Resolve the active prices of many material/unit pairs of one supplier at once (e.g. all lines of a bill).
+    // Results come back in request order; activePrice is null for pairs with no price on that date.
+    @PostMapping("/active-prices")
+    public ResponseEntity<List<ActivePriceResultDTO>> getActivePrices(
+            @Valid @RequestBody BulkActivePriceRequestDTO requestDTO) {
+        return ResponseEntity.ok(supplierMaterialPriceService.getActivePrices(requestDTO));
+    }
+
     // Deactivate a price entry (soft delete)
     @PatchMapping("/{priceId}/deactivate")
     public ResponseEntity<Void> deactivatePrice(@PathVariable Long priceId) {
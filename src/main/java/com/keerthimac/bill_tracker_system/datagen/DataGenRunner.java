@@ -0,0 +1,49 @@
+package com.keerthimac.bill_tracker_system.datagen;
+
+import com.keerthimac.bill_tracker_system.service.SpendReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Loads a synthetic data set at startup (the "datagen" profile, see application-datagen.properties)
+ * and rebuilds the spend rollups over it.
+ */
+@Component
+@ConditionalOnProperty(name = "bill-tracker.datagen.enabled", havingValue = "true")
+public class DataGenRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenRunner.class);
+
+    private final SyntheticDataGenerator generator;
+    private final SpendReportService spendReportService;
+    private final DataGenSpec spec;
+
+    @Autowired
+    public DataGenRunner(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         SpendReportService spendReportService,
+                         Environment environment) {
+        this.generator = new SyntheticDataGenerator(jdbcTemplate, transactionManager);
+        this.spendReportService = spendReportService;
+        this.spec = Binder.get(environment).bind("bill-tracker.datagen", DataGenSpec.class).orElseGet(DataGenSpec::new);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Generating synthetic data: {}", spec);
+        long startNanos = System.nanoTime();
+        GeneratedData data = generator.generate(spec);
+        int rollups = spendReportService.rebuildRollups();
+        log.info("Generated {} bills with {} items (ids from {}) and {} spend rollups in {} s",
+                data.getBills(), data.getBillItems(), data.billId(0), rollups, (System.nanoTime() - startNanos) / 1_000_000_000);
+    }
+}
@@ -0,0 +1,35 @@
+package com.keerthimac.bill_tracker_system.datagen;
+
+import lombok.Data;
+
+/**
+ * Volumes and shape of a synthetic data set (bound from bill-tracker.datagen.*). The same spec and seed always
+ * produce the same rows; only the ids shift when the tables already hold data.
+ */
+@Data
+public class DataGenSpec {
+
+    private long seed = 42L;
+    private int sites = 50;
+    private int suppliers = 500;
+    private int categories = 40;
+    private int materialsPerCategory = 250;
+    // Materials each supplier has a price history for, and the number of price periods per history
+    private int pricedMaterialsPerSupplier = 400;
+    private int maxPriceRevisions = 6;
+    // Share of histories that also carry a deactivated quote overlapping the current period
+    private double overlappingQuoteRatio = 0.1;
+    private long bills = 250_000L;
+    private int meanItemsPerBill = 8;
+    private int maxItemsPerBill = 200;
+    // Zipf exponent of material popularity on bill lines (and of supplier popularity on bills)
+    private double zipfExponent = 1.1;
+    private int years = 3;
+    // Bills newer than this are still open (PENDING); older ones are fully received and handed over
+    private int openBillDays = 30;
+    private int batchSize = 5_000;
+
+    public int getMaterials() {
+        return categories * materialsPerCategory;
+    }
+}
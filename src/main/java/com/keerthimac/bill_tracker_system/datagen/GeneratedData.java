@@ -0,0 +1,94 @@
+package com.keerthimac.bill_tracker_system.datagen;
+
+/**
+ * Where a generated data set landed: the id ranges of its rows and which materials each supplier has prices for,
+ * so a workload can address existing rows without querying for them. Indexes are 0-based.
+ */
+public class GeneratedData {
+
+    private static final String[] UNITS = {"PCS", "KG", "BAG", "M", "L", "BOX", "SQFT", "CUBE"};
+
+    private final DataGenSpec spec;
+    private final long siteBase;
+    private final long supplierBase;
+    private final long materialBase;
+    private final long billBase;
+    private final long billItemBase;
+    private final long billItems;
+    private final int[] supplierPriceOffsets;
+
+    GeneratedData(DataGenSpec spec, long siteBase, long supplierBase, long materialBase, long billBase,
+                  long billItemBase, long billItems, int[] supplierPriceOffsets) {
+        this.spec = spec;
+        this.siteBase = siteBase;
+        this.supplierBase = supplierBase;
+        this.materialBase = materialBase;
+        this.billBase = billBase;
+        this.billItemBase = billItemBase;
+        this.billItems = billItems;
+        this.supplierPriceOffsets = supplierPriceOffsets;
+    }
+
+    static String unitOfMaterialIndex(int materialIndex) {
+        return UNITS[materialIndex % UNITS.length];
+    }
+
+    public int getSites() {
+        return spec.getSites();
+    }
+
+    public int getSuppliers() {
+        return spec.getSuppliers();
+    }
+
+    public int getMaterials() {
+        return spec.getMaterials();
+    }
+
+    public int getPricedMaterialsPerSupplier() {
+        return Math.min(spec.getPricedMaterialsPerSupplier(), spec.getMaterials());
+    }
+
+    public long getBills() {
+        return spec.getBills();
+    }
+
+    public long getBillItems() {
+        return billItems;
+    }
+
+    public long siteId(int index) {
+        return siteBase + index + 1;
+    }
+
+    public long supplierId(int index) {
+        return supplierBase + index + 1;
+    }
+
+    public long materialId(int index) {
+        return materialBase + index + 1;
+    }
+
+    public long billId(long index) {
+        return billBase + index + 1;
+    }
+
+    public long billItemId(long index) {
+        return billItemBase + index + 1;
+    }
+
+    public String unitOf(long materialId) {
+        return unitOfMaterialIndex((int) (materialId - materialBase - 1));
+    }
+
+    /**
+     * The k-th material (0 <= k < pricedMaterialsPerSupplier) that the supplier has a current price for.
+     */
+    public long pricedMaterialId(int supplierIndex, int k) {
+        return materialId(pricedMaterialIndex(supplierIndex, k));
+    }
+
+    int pricedMaterialIndex(int supplierIndex, int k) {
+        return (supplierPriceOffsets[supplierIndex] + k) % spec.getMaterials();
+    }
+}
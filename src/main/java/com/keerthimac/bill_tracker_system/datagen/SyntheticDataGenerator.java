@@ -0,0 +1,276 @@
+package com.keerthimac.bill_tracker_system.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a deterministic synthetic data set through batched JDBC inserts with assigned ids, one transaction
+ * per batch: sites, suppliers, categories with their materials, supplier price histories (consecutive periods
+ * with a PriceRevisionLog entry per revision, some with an overlapping deactivated quote) and bills whose lines
+ * draw materials, and whose suppliers are drawn, from Zipf distributions.
+ * <p>
+ * New rows go after the highest existing id of each table, and the PurchaseBill/BillItem sequence tables are
+ * moved past them, so the application can keep inserting afterwards. Bill and item ids also start past every id the
+ * sequences have already handed out (a running instance may hold an unused block) and past the archived bills,
+ * which keep their ids in archived_purchase_bills. Spend rollups are not touched; rebuild them
+ * once the load is done.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_PRICE = "INSERT INTO supplier_material_prices (id, supplier_id, " +
+            "master_material_id, price, unit, effective_from_date, effective_to_date, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REVISION = "INSERT INTO price_revision_logs (id, supplier_material_price_id, " +
+            "old_price, new_price, old_effective_from_date, new_effective_from_date, old_effective_to_date, " +
+            "new_effective_to_date, change_timestamp, changed_by_user, reason_for_change) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'datagen', 'Supplier price revision')";
+    private static final String INSERT_BILL = "INSERT INTO purchase_bills (id, bill_number, bill_date, supplier_id, " +
+            "site_id, overall_grn_status, total_item_count, received_item_count, grn_hardcopy_received_by_purchaser, " +
+            "grn_hardcopy_handed_to_accountant, total_amount, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BILL_ITEM = "INSERT INTO bill_items (id, purchase_bill_id, bill_date, " +
+            "master_material_id, quantity, unit, unit_price, item_total_price, grn_received_for_item) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Larger than the allocationSize (50) of the pooled PurchaseBill/BillItem sequences
+    private static final int SEQUENCE_HEADROOM = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public GeneratedData generate(DataGenSpec spec) {
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusYears(spec.getYears());
+        Timestamp created = Timestamp.valueOf(firstDay.atStartOfDay());
+        int materials = spec.getMaterials();
+
+        long siteBase = maxId("sites");
+        insertRows("INSERT INTO sites (id, name, location) VALUES (?, ?, ?)", spec.getSites(), spec.getBatchSize(),
+                i -> new Object[]{siteBase + i + 1, "Site " + spec.getSeed() + "-" + (i + 1), "Location " + (i + 1)});
+
+        long supplierBase = maxId("suppliers");
+        insertRows("INSERT INTO suppliers (id, name, contact_person, contact_number, email, address) VALUES (?, ?, ?, ?, ?, ?)",
+                spec.getSuppliers(), spec.getBatchSize(),
+                i -> new Object[]{supplierBase + i + 1, "Supplier " + spec.getSeed() + "-" + (i + 1), "Contact " + (i + 1),
+                        String.format("+94 11 %07d", i + 1), "supplier" + (i + 1) + "@example.com", "No. " + (i + 1) + ", Main Street"});
+
+        long categoryBase = maxId("item_categories");
+        insertRows("INSERT INTO item_categories (id, name) VALUES (?, ?)", spec.getCategories(), spec.getBatchSize(),
+                i -> new Object[]{categoryBase + i + 1, "Category " + spec.getSeed() + "-" + (i + 1)});
+
+        // Base price per material in cents; bill lines and price histories vary around it
+        long[] basePriceCents = new long[materials];
+        for (int m = 0; m < materials; m++) {
+            basePriceCents[m] = random.nextLong(100, 200_000);
+        }
+        long materialBase = maxId("master_materials");
+        insertRows("INSERT INTO master_materials (id, material_code, name, description, default_unit, item_category_id, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", materials, spec.getBatchSize(),
+                i -> new Object[]{materialBase + i + 1, "DG" + spec.getSeed() + "-" + (i + 1), "Material " + (i + 1),
+                        "Synthetic material " + (i + 1), GeneratedData.unitOfMaterialIndex((int) i),
+                        categoryBase + i / spec.getMaterialsPerCategory() + 1, created, created});
+
+        int[] supplierPriceOffsets = new int[spec.getSuppliers()];
+        for (int s = 0; s < supplierPriceOffsets.length; s++) {
+            supplierPriceOffsets[s] = random.nextInt(materials);
+        }
+        long billBase = Math.max(Math.max(maxId("purchase_bills"), maxId("archived_purchase_bills")),
+                sequenceHighWater("purchase_bills_seq"));
+        long billItemBase = Math.max(maxId("bill_items"), sequenceHighWater("bill_items_seq"));
+        GeneratedData data = new GeneratedData(spec, siteBase, supplierBase, materialBase, billBase, billItemBase, 0,
+                supplierPriceOffsets);
+        insertPriceHistories(spec, data, random, basePriceCents, firstDay, today);
+        long billItems = insertBills(spec, data, random, basePriceCents, firstDay, today);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE purchase_bills_seq SET next_val = GREATEST(next_val, ?)",
+                    data.billId(spec.getBills()) + SEQUENCE_HEADROOM);
+            jdbcTemplate.update("UPDATE bill_items_seq SET next_val = GREATEST(next_val, ?)",
+                    data.billItemId(billItems) + SEQUENCE_HEADROOM);
+        });
+        jdbcTemplate.execute("ANALYZE TABLE sites, suppliers, item_categories, master_materials, " +
+                "supplier_material_prices, price_revision_logs, purchase_bills, bill_items");
+        return new GeneratedData(spec, siteBase, supplierBase, materialBase, billBase, billItemBase, billItems,
+                supplierPriceOffsets);
+    }
+
+    private void insertPriceHistories(DataGenSpec spec, GeneratedData data, SplittableRandom random,
+                                      long[] basePriceCents, LocalDate firstDay, LocalDate today) {
+        long priceId = maxId("supplier_material_prices");
+        long revisionId = maxId("price_revision_logs");
+        long days = today.toEpochDay() - firstDay.toEpochDay();
+        List<Object[]> prices = new ArrayList<>(spec.getBatchSize());
+        List<Object[]> revisions = new ArrayList<>(spec.getBatchSize());
+        long startNanos = System.nanoTime();
+
+        for (int s = 0; s < data.getSuppliers(); s++) {
+            for (int k = 0; k < data.getPricedMaterialsPerSupplier(); k++) {
+                int materialIndex = data.pricedMaterialIndex(s, k);
+                String unit = GeneratedData.unitOfMaterialIndex(materialIndex);
+                int periods = 1 + random.nextInt(spec.getMaxPriceRevisions());
+                BigDecimal price = cents(basePriceCents[materialIndex] * random.nextInt(90, 111) / 100);
+                LocalDate previousFrom = null;
+                LocalDate previousTo = null;
+                BigDecimal previousPrice = null;
+                for (int p = 0; p < periods; p++) {
+                    LocalDate from = firstDay.plusDays(days * p / periods);
+                    LocalDate to = p == periods - 1 ? null : firstDay.plusDays(days * (p + 1) / periods - 1);
+                    Timestamp changed = Timestamp.valueOf(from.atTime(9, 0));
+                    prices.add(new Object[]{++priceId, data.supplierId(s), data.materialId(materialIndex), price, unit,
+                            Date.valueOf(from), to == null ? null : Date.valueOf(to), true, changed, changed});
+                    if (previousPrice != null) {
+                        revisions.add(new Object[]{++revisionId, priceId, previousPrice, price, Date.valueOf(previousFrom),
+                                Date.valueOf(from), Date.valueOf(previousTo), to == null ? null : Date.valueOf(to), changed});
+                    }
+                    previousFrom = from;
+                    previousTo = to;
+                    previousPrice = price;
+                    price = cents(price.movePointRight(2).longValue() * random.nextInt(95, 113) / 100);
+                }
+                if (random.nextDouble() < spec.getOverlappingQuoteRatio()) {
+                    // A competing quote for the current period that was withdrawn: inactive, so lookups skip it
+                    LocalDate quoted = previousFrom.plusDays(random.nextInt(1, 30));
+                    Timestamp changed = Timestamp.valueOf(quoted.atTime(9, 0));
+                    prices.add(new Object[]{++priceId, data.supplierId(s), data.materialId(materialIndex), price, unit,
+                            Date.valueOf(quoted), null, false, changed, changed});
+                }
+                if (prices.size() >= spec.getBatchSize()) {
+                    flushPrices(prices, revisions);
+                }
+            }
+        }
+        flushPrices(prices, revisions);
+        log.info("Generated supplier price histories up to id {} and revisions up to id {} in {} ms",
+                priceId, revisionId, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // Prices first: the revisions of a batch reference its prices
+    private void flushPrices(List<Object[]> prices, List<Object[]> revisions) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_PRICE, prices);
+            jdbcTemplate.batchUpdate(INSERT_REVISION, revisions);
+        });
+        prices.clear();
+        revisions.clear();
+    }
+
+    private long insertBills(DataGenSpec spec, GeneratedData data, SplittableRandom random, long[] basePriceCents,
+                             LocalDate firstDay, LocalDate today) {
+        ZipfSampler materialPopularity = new ZipfSampler(data.getMaterials(), spec.getZipfExponent());
+        ZipfSampler supplierPopularity = new ZipfSampler(data.getSuppliers(), spec.getZipfExponent());
+        // Popularity rank -> material, so the popular materials are spread over all categories
+        int[] materialByRank = shuffledIndexes(data.getMaterials(), random);
+        int days = (int) (today.toEpochDay() - firstDay.toEpochDay());
+        LocalDate openSince = today.minusDays(spec.getOpenBillDays());
+        List<Object[]> bills = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>(spec.getBatchSize() + spec.getMaxItemsPerBill());
+        long itemIndex = 0;
+        int batches = 0;
+        long startNanos = System.nanoTime();
+
+        for (long b = 0; b < spec.getBills(); b++) {
+            LocalDate billDate = firstDay.plusDays(random.nextInt(days + 1));
+            Date sqlDate = Date.valueOf(billDate);
+            boolean closed = billDate.isBefore(openSince);
+            // Exponentially distributed line count with the configured mean, capped
+            int lineCount = (int) Math.min(spec.getMaxItemsPerBill(),
+                    1 + Math.round(-Math.log(1 - random.nextDouble()) * (spec.getMeanItemsPerBill() - 1)));
+            long billId = data.billId(b);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int line = 0; line < lineCount; line++) {
+                int materialIndex = materialByRank[materialPopularity.sample(random)];
+                BigDecimal quantity = BigDecimal.valueOf(random.nextInt(1, 51));
+                BigDecimal unitPrice = cents(basePriceCents[materialIndex] * random.nextInt(90, 111) / 100);
+                BigDecimal lineTotal = quantity.multiply(unitPrice);
+                total = total.add(lineTotal);
+                items.add(new Object[]{data.billItemId(itemIndex++), billId, sqlDate, data.materialId(materialIndex),
+                        quantity, GeneratedData.unitOfMaterialIndex(materialIndex), unitPrice, lineTotal, closed});
+            }
+            Timestamp created = Timestamp.valueOf(billDate.atTime(10, 0));
+            bills.add(new Object[]{billId, "DG-" + spec.getSeed() + "-" + (b + 1), sqlDate,
+                    data.supplierId(supplierPopularity.sample(random)), data.siteId(random.nextInt(data.getSites())),
+                    closed ? "FULLY_RECEIVED" : "PENDING", lineCount, closed ? lineCount : 0, closed, closed,
+                    total.setScale(2, RoundingMode.HALF_UP), created, created});
+
+            if (items.size() >= spec.getBatchSize() || b == spec.getBills() - 1) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_BILL, bills);
+                    jdbcTemplate.batchUpdate(INSERT_BILL_ITEM, items);
+                });
+                bills.clear();
+                items.clear();
+                if (++batches % 50 == 0) {
+                    log.info("Generated {} of {} bills ({} items)", b + 1, spec.getBills(), itemIndex);
+                }
+            }
+        }
+        log.info("Generated {} bills with {} items in {} ms", spec.getBills(), itemIndex,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return itemIndex;
+    }
+
+    private void insertRows(String sql, long rows, int batchSize, RowFactory rowFactory) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long i = 0; i < rows; i++) {
+            batch.add(rowFactory.row(i));
+            if (batch.size() == batchSize || i == rows - 1) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+                batch.clear();
+            }
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Every id below next_val may already belong to a block handed out to an application instance
+    private long sequenceHighWater(String sequenceTable) {
+        Long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM " + sequenceTable, Long.class);
+        return nextVal == null ? 0 : nextVal - 1;
+    }
+
+    private static int[] shuffledIndexes(int n, SplittableRandom random) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(Math.max(cents, 1), 2);
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(long index);
+    }
+}
@@ -0,0 +1,14 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivePriceResultDTO {
+    private Long masterMaterialId;
+    private String unit;
+    private SupplierMaterialPriceResponseDTO activePrice; // null if no price is active on the requested date
+}
@@ -0,0 +1,58 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One flat export row: a bill line with its bill's header repeated. A bill without items
+ * yields a single row whose item fields are null. Populated by a JPQL constructor projection,
+ * so exported rows are never managed entities.
+ */
+@Data
+@NoArgsConstructor
+public class BillExportRowDTO {
+    private Long billId;
+    private String billNumber;
+    private LocalDate billDate;
+    private String siteName;
+    private String supplierName;
+    private String overallGrnStatus; // String representation of the enum
+    private BigDecimal billTotalAmount;
+
+    private Long billItemId;
+    private String materialCode;
+    private String materialName;
+    private String itemCategoryName;
+    private BigDecimal quantity;
+    private String unit;
+    private BigDecimal unitPrice;
+    private BigDecimal itemTotalPrice;
+    private Boolean grnReceivedForItem;
+
+    public BillExportRowDTO(Long billId, String billNumber, LocalDate billDate, String siteName, String supplierName,
+                            OverallGrnStatus overallGrnStatus, BigDecimal billTotalAmount,
+                            Long billItemId, String materialCode, String materialName, String itemCategoryName,
+                            BigDecimal quantity, String unit, BigDecimal unitPrice, BigDecimal itemTotalPrice,
+                            Boolean grnReceivedForItem) {
+        this.billId = billId;
+        this.billNumber = billNumber;
+        this.billDate = billDate;
+        this.siteName = siteName;
+        this.supplierName = supplierName;
+        this.overallGrnStatus = overallGrnStatus == null ? null : overallGrnStatus.name();
+        this.billTotalAmount = billTotalAmount;
+        this.billItemId = billItemId;
+        this.materialCode = materialCode;
+        this.materialName = materialName;
+        this.itemCategoryName = itemCategoryName;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.unitPrice = unitPrice;
+        this.itemTotalPrice = itemTotalPrice;
+        this.grnReceivedForItem = grnReceivedForItem;
+    }
+}
@@ -0,0 +1,18 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Compact GRN state of one bill, returned by GRN updates instead of the full bill.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillGrnStatusDTO {
+    private Long billId;
+    private String overallGrnStatus; // String representation of the enum
+    private int receivedItemCount;
+    private int totalItemCount;
+}
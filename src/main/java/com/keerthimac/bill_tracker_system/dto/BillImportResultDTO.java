@@ -0,0 +1,22 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk bill import. A bill is imported only if all of its rows are valid;
+ * otherwise every bad row is reported and the whole bill is skipped.
+ */
+@Data
+@NoArgsConstructor
+public class BillImportResultDTO {
+    private long rowsRead;
+    private long billsImported;
+    private long itemsImported;
+    private long billsRejected;
+    private long errorCount;       // Total errors, including those beyond the reported list
+    private List<ImportRowErrorDTO> errors = new ArrayList<>(); // Capped, see PurchaseBillImportServiceImpl
+}
@@ -0,0 +1,27 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActivePriceRequestDTO {
+
+    @NotNull(message = "Supplier ID cannot be null")
+    private Long supplierId;
+
+    @NotNull(message = "Date cannot be null")
+    private LocalDate date;
+
+    @NotEmpty(message = "At least one material/unit pair is required.")
+    @Valid
+    private List<MaterialUnitDTO> items; // Typically one entry per bill line
+}
@@ -0,0 +1,19 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkGrnUpdateRequestDTO {
+
+    @NotEmpty(message = "At least one GRN item update is required.")
+    @Valid
+    private List<GrnItemUpdateDTO> items; // May span several bills, e.g. everything on one delivery
+}
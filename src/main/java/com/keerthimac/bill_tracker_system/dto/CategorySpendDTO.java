@@ -0,0 +1,31 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Spend on one item category at one site over a date range. No quantity: categories mix units.
+ */
+@Data
+@NoArgsConstructor
+public class CategorySpendDTO {
+    private Long siteId;
+    private String siteName;
+    private Long itemCategoryId;
+    private String itemCategoryName;
+    private BigDecimal totalSpend;
+    private long lineCount;
+
+    // Used by the JPQL constructor projection in BillItemRepository
+    public CategorySpendDTO(Long siteId, String siteName, Long itemCategoryId, String itemCategoryName,
+                            BigDecimal totalSpend, Long lineCount) {
+        this.siteId = siteId;
+        this.siteName = siteName;
+        this.itemCategoryId = itemCategoryId;
+        this.itemCategoryName = itemCategoryName;
+        this.totalSpend = totalSpend;
+        this.lineCount = lineCount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass {@code nextCursor} back as the {@code cursor} request parameter to fetch the following page;
+ * it is null when there are no more results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private int size; // The (capped) page size that was applied
+    private String nextCursor;
+}
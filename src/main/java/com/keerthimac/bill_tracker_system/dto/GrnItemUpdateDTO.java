@@ -0,0 +1,20 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GrnItemUpdateDTO {
+
+    @NotNull(message = "Bill Item ID cannot be null")
+    private Long billItemId;
+
+    @NotNull(message = "Received flag cannot be null")
+    private Boolean received;
+
+    private String remarks; // Optional; null leaves existing remarks untouched
+}
@@ -0,0 +1,16 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Compact response of a single-item GRN update: the changed item and the new status of its bill.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GrnItemUpdateResponseDTO {
+    private BillItemResponseDTO billItem;
+    private BillGrnStatusDTO bill;
+}
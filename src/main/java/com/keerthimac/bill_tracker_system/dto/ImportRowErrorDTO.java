@@ -0,0 +1,14 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    private long rowNumber;    // CSV record number (header = 1) or NDJSON line number
+    private String billNumber; // Null if the row could not be parsed
+    private String message;
+}
@@ -0,0 +1,46 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Quantity and spend of one master material (in one unit) at one site, over a date range or for one month.
+ * Quantities are only summed within the same unit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialConsumptionDTO {
+    private Long siteId;
+    private String siteName;
+    private Long masterMaterialId;
+    private String masterMaterialCode;
+    private String masterMaterialName;
+    private String itemCategoryName;
+    private String unit;
+    private YearMonth month; // Null for whole-range totals
+    private BigDecimal totalQuantity;
+    private BigDecimal totalSpend;
+    private long lineCount;
+
+    // Whole-range totals (JPQL constructor projection in BillItemRepository)
+    public MaterialConsumptionDTO(Long siteId, String siteName, Long masterMaterialId, String masterMaterialCode,
+                                  String masterMaterialName, String itemCategoryName, String unit,
+                                  BigDecimal totalQuantity, BigDecimal totalSpend, Long lineCount) {
+        this(siteId, siteName, masterMaterialId, masterMaterialCode, masterMaterialName, itemCategoryName, unit,
+                null, totalQuantity, totalSpend, lineCount);
+    }
+
+    // Monthly totals (JPQL constructor projection in BillItemRepository)
+    public MaterialConsumptionDTO(Long siteId, String siteName, Long masterMaterialId, String masterMaterialCode,
+                                  String masterMaterialName, String itemCategoryName, String unit,
+                                  Integer year, Integer month,
+                                  BigDecimal totalQuantity, BigDecimal totalSpend, Long lineCount) {
+        this(siteId, siteName, masterMaterialId, masterMaterialCode, masterMaterialName, itemCategoryName, unit,
+                YearMonth.of(year, month), totalQuantity, totalSpend, lineCount);
+    }
+}
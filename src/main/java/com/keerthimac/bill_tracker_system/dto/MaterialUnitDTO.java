@@ -0,0 +1,21 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialUnitDTO {
+
+    @NotNull(message = "Master Material ID cannot be null")
+    private Long masterMaterialId;
+
+    @NotBlank(message = "Unit cannot be blank")
+    @Size(max = 20, message = "Unit cannot exceed 20 characters")
+    private String unit;
+}
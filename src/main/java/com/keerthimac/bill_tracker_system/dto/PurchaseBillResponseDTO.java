@@ -15,6 +15,8 @@ public class PurchaseBillResponseDTO {
     private SiteDTO site; // Embed SiteDTO
     private String billImagePath;
     private String overallGrnStatus; // String representation of the enum
+    private int totalItemCount;
+    private int receivedItemCount;
     private boolean grnHardcopyReceivedByPurchaser;
     private boolean grnHardcopyHandedToAccountant;
     private BigDecimal totalAmount;
@@ -0,0 +1,36 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lightweight bill row for list screens: no line items and no nested supplier/site objects.
+ * Built directly by JPQL constructor expressions in PurchaseBillRepository.
+ */
+@Data
+@NoArgsConstructor
+public class PurchaseBillSummaryDTO {
+    private Long id;
+    private String billNumber;
+    private LocalDate billDate;
+    private String siteName;
+    private String supplierName;
+    private BigDecimal totalAmount;
+    private String overallGrnStatus; // String representation of the enum, as in PurchaseBillResponseDTO
+
+    // Used by the JPQL constructor expression
+    public PurchaseBillSummaryDTO(Long id, String billNumber, LocalDate billDate, String siteName,
+                                  String supplierName, BigDecimal totalAmount, OverallGrnStatus overallGrnStatus) {
+        this.id = id;
+        this.billNumber = billNumber;
+        this.billDate = billDate;
+        this.siteName = siteName;
+        this.supplierName = supplierName;
+        this.totalAmount = totalAmount;
+        this.overallGrnStatus = overallGrnStatus != null ? overallGrnStatus.name() : null;
+    }
+}
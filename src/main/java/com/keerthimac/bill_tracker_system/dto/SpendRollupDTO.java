@@ -0,0 +1,34 @@
+package com.keerthimac.bill_tracker_system.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * One row of the spend report. Depending on the requested grouping, the site or supplier
+ * fields are null when that dimension has been summed over.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendRollupDTO {
+    private Long siteId;
+    private String siteName;
+    private Long supplierId;   // Null when grouped by site only
+    private String supplierName;
+    private YearMonth month;
+    private long billCount;
+    private BigDecimal totalAmount;
+    private long pendingGrnCount;
+
+    // Used by the JPQL constructor projection in SpendRollupRepository
+    public SpendRollupDTO(Long siteId, String siteName, Long supplierId, String supplierName, LocalDate periodMonth,
+                          Long billCount, BigDecimal totalAmount, Long pendingGrnCount) {
+        this(siteId, siteName, supplierId, supplierName, YearMonth.from(periodMonth),
+                billCount, totalAmount, pendingGrnCount);
+    }
+}
@@ -0,0 +1,68 @@
+package com.keerthimac.bill_tracker_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed PurchaseBill (fully received, GRN hardcopy handed to the accountant) moved out of the live tables
+ * by BillArchiveService. The bill and its items are kept as one gzip-compressed JSON document of the
+ * PurchaseBillResponseDTO at archive time; the columns beside it are what spend rollups and lookups need.
+ * Site and supplier are plain IDs, as in SpendRollup.
+ */
+@Entity
+@Table(name = "archived_purchase_bills", indexes = {
+        @Index(name = "idx_archived_purchase_bills_site_bill_date", columnList = "site_id, bill_date")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedPurchaseBill implements Persistable<Long> {
+
+    @Id // The ID the bill had in purchase_bills; sequence values are never reused, so it stays unique
+    private Long id;
+
+    @Column(name = "bill_number", nullable = false)
+    private String billNumber;
+
+    @Column(name = "bill_date", nullable = false)
+    private LocalDate billDate;
+
+    @Column(name = "site_id", nullable = false)
+    private Long siteId;
+
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    @Column(name = "total_amount", precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGBLOB") // gzip(JSON of PurchaseBillResponseDTO)
+    private byte[] payload;
+
+    // The ID is assigned, so save() cannot tell a new row by a null ID; without this it would merge (SELECT first)
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
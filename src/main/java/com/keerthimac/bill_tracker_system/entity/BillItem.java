@@ -6,16 +6,26 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "bill_items")
+@Table(name = "bill_items", indexes = {
+        // Covering index for the material analytics: bills found by date are joined on purchase_bill_id and
+        // aggregated from the index alone, without reading the item rows
+        @Index(name = "idx_bill_items_bill_material_totals",
+                columnList = "purchase_bill_id, bill_date, master_material_id, unit, quantity, item_total_price"),
+        // findByMasterMaterialId / existsByMasterMaterialId (material in-use checks)
+        @Index(name = "idx_bill_items_master_material", columnList = "master_material_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BillItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (table-backed on MySQL) instead of IDENTITY so Hibernate can batch cascaded inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_items_seq")
+    @SequenceGenerator(name = "bill_items_seq", sequenceName = "bill_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +48,11 @@ public class BillItem {
     @Column(name = "item_total_price", precision = 19, scale = 4)
     private BigDecimal itemTotalPrice;
 
+    // Copy of purchaseBill.billDate, so bill_items can be range-partitioned on the bill date too
+    // and date-filtered item queries prune partitions. Copied on persist; bill date changes update it in bulk.
+    @Column(name = "bill_date", nullable = false)
+    private LocalDate billDate;
+
     @Column(name = "grn_received_for_item", nullable = false)
     private boolean grnReceivedForItem = false;
 
@@ -46,6 +61,14 @@ public class BillItem {
     private String remarks;
 
     @PrePersist
+    public void prePersist() {
+        calculateItemTotalPrice();
+        if (this.purchaseBill != null) {
+            this.billDate = this.purchaseBill.getBillDate();
+        }
+    }
+
+    // Not synced on update: reading the bill here could initialise a lazy proxy per item during flush
     @PreUpdate
     public void calculateItemTotalPrice() {
         if (this.quantity != null && this.unitPrice != null) {
@@ -13,14 +13,38 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_bills")
+@Table(name = "purchase_bills", indexes = {
+        // Date-range listings and analytics; the site variant also serves findBySiteIdAndBillDateBetween
+        @Index(name = "idx_purchase_bills_bill_date", columnList = "bill_date"),
+        @Index(name = "idx_purchase_bills_site_bill_date", columnList = "site_id, bill_date"),
+        @Index(name = "idx_purchase_bills_overall_grn_status", columnList = "overall_grn_status") // findByOverallGrnStatus
+})
+// Everything PurchaseBillMapper walks: site, supplier, items, each item's material and its category.
+// Loading through this graph turns the 1 + 3N + 2*items lazy loads of a listing into one SELECT.
+@NamedEntityGraph(
+        name = PurchaseBill.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("site"),
+                @NamedAttributeNode("supplier"),
+                @NamedAttributeNode(value = "billItems", subgraph = "billItems.details")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "billItems.details",
+                        attributeNodes = @NamedAttributeNode(value = "masterMaterial", subgraph = "masterMaterial.details")),
+                @NamedSubgraph(name = "masterMaterial.details",
+                        attributeNodes = @NamedAttributeNode("itemCategory"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PurchaseBill {
 
+    public static final String DETAILS_GRAPH = "PurchaseBill.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (table-backed on MySQL) instead of IDENTITY so Hibernate can batch cascaded inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_bills_seq")
+    @SequenceGenerator(name = "purchase_bills_seq", sequenceName = "purchase_bills_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -42,6 +66,13 @@ public class PurchaseBill {
     @Enumerated(EnumType.STRING)
     private OverallGrnStatus overallGrnStatus = OverallGrnStatus.PENDING;
 
+    // GRN counters maintained incrementally, so overallGrnStatus can be derived without loading billItems
+    @Column(name = "total_item_count", nullable = false)
+    private int totalItemCount = 0;
+
+    @Column(name = "received_item_count", nullable = false)
+    private int receivedItemCount = 0;
+
     private boolean grnHardcopyReceivedByPurchaser = false;
     private boolean grnHardcopyHandedToAccountant = false;
 
@@ -0,0 +1,48 @@
+package com.keerthimac.bill_tracker_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated spend per site, supplier and month, maintained incrementally by SpendRollupRecorder
+ * whenever a PurchaseBill is created, changed, deleted or changes GRN status.
+ * Site and supplier are plain IDs (no foreign keys) so the row can be upserted with a single native statement.
+ */
+@Entity
+@Table(name = "spend_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_spend_rollups_site_supplier_month",
+                columnNames = {"site_id", "supplier_id", "period_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendRollup {
+
+    public static final long NO_SUPPLIER = 0L; // supplier_id of bills without a supplier (NULL would defeat the unique key)
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "site_id", nullable = false)
+    private Long siteId;
+
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    @Column(name = "period_month", nullable = false) // First day of the month
+    private LocalDate periodMonth;
+
+    @Column(name = "bill_count", nullable = false)
+    private long billCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "pending_grn_count", nullable = false) // Bills not yet FULLY_RECEIVED
+    private long pendingGrnCount;
+}
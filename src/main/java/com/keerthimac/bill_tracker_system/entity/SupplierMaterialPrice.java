@@ -18,7 +18,11 @@ import java.time.LocalDateTime;
 // if you don't allow multiple prices for the same material from the same supplier on the same day for the same unit.
 // For now, we'll keep it simple and rely on service-level logic for complex validation,
 // but @Table(uniqueConstraints = {...}) is where you'd define DB level ones.
-@Table(name = "supplier_material_prices")
+@Table(name = "supplier_material_prices", indexes = {
+        // Equality columns of findActivePriceAsList / findOverlappingPrices / findActivePriceTimeline, then the date range
+        @Index(name = "idx_smp_supplier_material_unit_from",
+                columnList = "supplier_id, master_material_id, unit, effective_from_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
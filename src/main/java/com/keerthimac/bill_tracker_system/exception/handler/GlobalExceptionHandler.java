@@ -2,6 +2,7 @@ package com.keerthimac.bill_tracker_system.exception.handler;
 
 import com.keerthimac.bill_tracker_system.dto.ErrorResponseDTO;
 import com.keerthimac.bill_tracker_system.exception.DuplicateResourceException;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
 import com.keerthimac.bill_tracker_system.exception.ResourceInUseException;
 import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
@@ -54,6 +55,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // Handler for InvalidDataException (business-rule violations and malformed request values)
+    @ExceptionHandler(InvalidDataException.class)
+    public ResponseEntity<Object> handleInvalidDataException(
+            InvalidDataException ex, WebRequest request) {
+
+        String path = ((ServletWebRequest)request).getRequest().getRequestURI();
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                path
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     // Handler for jakarta.validation.ConstraintViolationException (e.g., @Validated on path variables/request params)
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Object> handleConstraintViolationException(
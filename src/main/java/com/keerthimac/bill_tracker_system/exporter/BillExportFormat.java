@@ -0,0 +1,25 @@
+package com.keerthimac.bill_tracker_system.exporter;
+
+/**
+ * Formats offered by the bill export. Both write one bill line per row/line.
+ */
+public enum BillExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    BillExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
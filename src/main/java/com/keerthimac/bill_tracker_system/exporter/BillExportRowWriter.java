@@ -0,0 +1,16 @@
+package com.keerthimac.bill_tracker_system.exporter;
+
+import com.keerthimac.bill_tracker_system.dto.BillExportRowDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows one at a time to the response stream; nothing is buffered beyond the writer's own buffer.
+ */
+public interface BillExportRowWriter {
+
+    void writeRow(BillExportRowDTO row) throws IOException;
+
+    // Flushes buffered output; the response stream itself is closed by the container
+    void finish() throws IOException;
+}
@@ -0,0 +1,83 @@
+package com.keerthimac.bill_tracker_system.exporter;
+
+import com.keerthimac.bill_tracker_system.dto.BillExportRowDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row. The bill columns use the same names as the import format,
+ * so an export can be fed back into POST /api/v1/purchase-bills/import.
+ */
+public class CsvBillExportRowWriter implements BillExportRowWriter {
+
+    private static final String HEADER = "billId,billNumber,billDate,siteName,supplierName,overallGrnStatus,billTotalAmount,"
+            + "billItemId,materialCode,materialName,itemCategoryName,quantity,unit,unitPrice,itemTotalPrice,grnReceivedForItem";
+
+    private final Writer writer;
+
+    public CsvBillExportRowWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void writeRow(BillExportRowDTO row) throws IOException {
+        writeField(row.getBillId());
+        writer.write(',');
+        writeField(row.getBillNumber());
+        writer.write(',');
+        writeField(row.getBillDate());
+        writer.write(',');
+        writeField(row.getSiteName());
+        writer.write(',');
+        writeField(row.getSupplierName());
+        writer.write(',');
+        writeField(row.getOverallGrnStatus());
+        writer.write(',');
+        writeField(row.getBillTotalAmount() == null ? null : row.getBillTotalAmount().toPlainString());
+        writer.write(',');
+        writeField(row.getBillItemId());
+        writer.write(',');
+        writeField(row.getMaterialCode());
+        writer.write(',');
+        writeField(row.getMaterialName());
+        writer.write(',');
+        writeField(row.getItemCategoryName());
+        writer.write(',');
+        writeField(row.getQuantity() == null ? null : row.getQuantity().toPlainString());
+        writer.write(',');
+        writeField(row.getUnit());
+        writer.write(',');
+        writeField(row.getUnitPrice() == null ? null : row.getUnitPrice().toPlainString());
+        writer.write(',');
+        writeField(row.getItemTotalPrice() == null ? null : row.getItemTotalPrice().toPlainString());
+        writer.write(',');
+        writeField(row.getGrnReceivedForItem());
+        writer.write("\r\n");
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,39 @@
+package com.keerthimac.bill_tracker_system.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.keerthimac.bill_tracker_system.dto.BillExportRowDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON: one BillExportRowDTO object per line, serialised with the application's ObjectMapper
+ * (ISO dates, same field names as the CSV header).
+ */
+public class NdjsonBillExportRowWriter implements BillExportRowWriter {
+
+    private final ObjectWriter rowWriter;
+    private final JsonGenerator generator;
+
+    public NdjsonBillExportRowWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        // Let the generator buffer; the default flush after every value would send one tiny chunk per row
+        this.rowWriter = objectMapper.writerFor(BillExportRowDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null); // Separators are written explicitly as newlines
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void writeRow(BillExportRowDTO row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close(); // Flushes; the target stream stays open
+    }
+}
@@ -0,0 +1,9 @@
+package com.keerthimac.bill_tracker_system.importer;
+
+/**
+ * Upload formats accepted by the bill import. Both carry one bill line per row/line.
+ */
+public enum BillImportFormat {
+    CSV,    // text/csv with a header row
+    NDJSON  // application/x-ndjson, one JSON object per line
+}
@@ -0,0 +1,30 @@
+package com.keerthimac.bill_tracker_system.importer;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One raw bill line as read from an import file. Values are kept as text so CSV and NDJSON
+ * share the same validation in PurchaseBillImportServiceImpl.
+ * Consecutive rows with the same billNumber, billDate, siteName and supplierName form one bill.
+ */
+@Data
+@NoArgsConstructor
+public class BillImportRow {
+    private long rowNumber;   // CSV record number (header = 1) or NDJSON line number
+    private String parseError; // Set when the row itself could not be parsed; other fields are then unreliable
+
+    private String billNumber;
+    private String billDate;  // ISO yyyy-MM-dd
+    private String siteName;
+    private String supplierName;
+    private String materialCode; // Preferred material reference
+    private String materialName; // Used when materialCode is blank
+    private String quantity;
+    private String unit;
+    private String unitPrice;
+
+    public BillImportRow(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+}
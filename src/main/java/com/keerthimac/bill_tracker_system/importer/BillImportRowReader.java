@@ -0,0 +1,18 @@
+package com.keerthimac.bill_tracker_system.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an import upload. Rows are parsed one at a time straight from the
+ * request stream, so memory use does not depend on the size of the file.
+ */
+public interface BillImportRowReader extends Closeable {
+
+    /**
+     * Reads the next non-blank row.
+     * @return The next row (with parseError set if it is malformed), or null at the end of the input.
+     * @throws IOException if the underlying stream fails.
+     */
+    BillImportRow next() throws IOException;
+}
@@ -0,0 +1,186 @@
+package com.keerthimac.bill_tracker_system.importer;
+
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, optional double-quoted fields with "" escapes and
+ * embedded line breaks. Columns are located by the (case-insensitive) names in the header row,
+ * so column order is free and unknown columns are ignored.
+ * <p>
+ * A record is capped at MAX_RECORD_LENGTH characters: a longer one (typically a stray quote that would otherwise
+ * swallow the rest of the upload) is reported as a parse error and reading resumes at the next line break, so
+ * memory use stays bounded by the cap. The lines it swallowed may have belonged to the next bill, so the first row
+ * read after it is reported as well, which rejects that bill rather than importing it with lines missing.
+ */
+public class CsvBillImportRowReader implements BillImportRowReader {
+
+    static final int MAX_RECORD_LENGTH = 8192;
+
+    private static final String[] REQUIRED_COLUMNS = {
+            "billNumber", "billDate", "siteName", "supplierName", "quantity", "unit", "unitPrice"
+    };
+
+    private final Reader reader;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private long recordNumber = 1; // The header is record 1
+    private String recordError;
+    private boolean recordCutOff; // The last record read hit MAX_RECORD_LENGTH
+
+    public CsvBillImportRowReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidDataException("CSV import is empty; a header row is required.");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // Byte order mark written by spreadsheet tools
+            }
+            columnIndexes.put(name.toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columnIndexes.containsKey(column.toLowerCase(Locale.ROOT))) {
+                missing.add(column);
+            }
+        }
+        if (!columnIndexes.containsKey("materialcode") && !columnIndexes.containsKey("materialname")) {
+            missing.add("materialCode or materialName");
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidDataException("CSV header is missing columns: " + missing);
+        }
+    }
+
+    @Override
+    public BillImportRow next() throws IOException {
+        boolean afterCutOff = recordCutOff;
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            recordNumber++;
+        } while (recordError == null && fields.size() == 1 && fields.get(0).isBlank());
+
+        BillImportRow row = new BillImportRow(recordNumber);
+        if (recordError != null) {
+            // Fields before the error are still read, so the row can be matched to its bill
+            row.setParseError(recordError);
+        } else if (afterCutOff) {
+            row.setParseError("Follows a record that was cut off at " + MAX_RECORD_LENGTH
+                    + " characters; lines of this bill may have been skipped.");
+        }
+        row.setBillNumber(column(fields, "billnumber"));
+        row.setBillDate(column(fields, "billdate"));
+        row.setSiteName(column(fields, "sitename"));
+        row.setSupplierName(column(fields, "suppliername"));
+        row.setMaterialCode(column(fields, "materialcode"));
+        row.setMaterialName(column(fields, "materialname"));
+        row.setQuantity(column(fields, "quantity"));
+        row.setUnit(column(fields, "unit"));
+        row.setUnitPrice(column(fields, "unitprice"));
+        return row;
+    }
+
+    private String column(List<String> fields, String name) {
+        Integer index = columnIndexes.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one CSV record.
+     * @return The record's fields, or null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        recordError = null;
+        recordCutOff = false;
+        boolean inQuotes = false;
+        boolean readAnything = false;
+        int length = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAnything = true;
+            if (++length > MAX_RECORD_LENGTH) {
+                recordError = (inQuotes ? "Unterminated quoted field: record" : "Record")
+                        + " exceeds " + MAX_RECORD_LENGTH + " characters; the rest of its line was skipped.";
+                if (c != '\n') {
+                    skipLine();
+                }
+                recordCutOff = true;
+                field.setLength(0); // The partial field is not kept
+                fields.add("");
+                return fields;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"'); // Escaped quote
+                    } else {
+                        inQuotes = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!readAnything) {
+            return null;
+        }
+        if (inQuotes) {
+            recordError = "Unterminated quoted field.";
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && c != '\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.keerthimac.bill_tracker_system.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Newline-delimited JSON reader: one bill line object per line, using the same field names as the CSV header.
+ * Each line is parsed on its own, so one malformed line is reported without aborting the import.
+ */
+public class NdjsonBillImportRowReader implements BillImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber = 0;
+
+    public NdjsonBillImportRowReader(InputStream inputStream, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public BillImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        BillImportRow row = new BillImportRow(lineNumber);
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            row.setParseError("Malformed JSON: " + e.getOriginalMessage());
+            return row;
+        }
+        if (!node.isObject()) {
+            row.setParseError("Expected a JSON object.");
+            return row;
+        }
+        row.setBillNumber(text(node, "billNumber"));
+        row.setBillDate(text(node, "billDate"));
+        row.setSiteName(text(node, "siteName"));
+        row.setSupplierName(text(node, "supplierName"));
+        row.setMaterialCode(text(node, "materialCode"));
+        row.setMaterialName(text(node, "materialName"));
+        row.setQuantity(text(node, "quantity"));
+        row.setUnit(text(node, "unit"));
+        row.setUnitPrice(text(node, "unitPrice"));
+        return row;
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,56 @@
+package com.keerthimac.bill_tracker_system.jdbc;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records every JDBC execution as an observation, so each statement shows up as a child span of the
+ * repository call (and through it the service and controller calls) that issued it. The span carries the
+ * SQL and, for batches, the batch size; bind parameter values are never recorded.
+ * Attached to the DataSource through datasource-proxy by DataSourceProxyConfig.
+ */
+public class QueryObservationListener implements QueryExecutionListener {
+
+    public static final String OBSERVATION_NAME = "bill_tracker.jdbc";
+
+    private static final String OBSERVATION_KEY = QueryObservationListener.class.getName();
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final ObservationRegistry observationRegistry;
+
+    public QueryObservationListener(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining(";\n"));
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(execInfo.isBatch() ? "jdbc batch" : "jdbc query")
+                .lowCardinalityKeyValue("statement", execInfo.getStatementType().name().toLowerCase())
+                .highCardinalityKeyValue("db.statement", sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql)
+                .start();
+        execInfo.addCustomValue(OBSERVATION_KEY, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION_KEY, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", Integer.toString(execInfo.getBatchSize()));
+        }
+        if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+}
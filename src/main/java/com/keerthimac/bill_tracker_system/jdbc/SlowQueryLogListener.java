@@ -0,0 +1,51 @@
+package com.keerthimac.bill_tracker_system.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Logs JDBC executions that take at least the threshold, with their SQL and how many bind parameters
+ * (and, for batches, parameter sets) they carried. Parameter values are never logged.
+ * Attached to the DataSource through datasource-proxy by DataSourceProxyConfig.
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    // Own logger name, so the slow-query log can be routed or silenced independently (see logback-spring.xml)
+    private static final Logger log = LoggerFactory.getLogger("bill_tracker.slow_query");
+
+    private final long thresholdMillis;
+
+    public SlowQueryLogListener(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nothing to do before execution; elapsed time is measured by the proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        if (elapsedMillis < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+            int bindParameters = parameterSets.isEmpty() ? 0 : parameterSets.get(0).size();
+            log.warn("Slow query: {} ms, {}{} bind parameters{}, success={}: {}",
+                    elapsedMillis,
+                    execInfo.isBatch() ? "batch of " + execInfo.getBatchSize() + ", " : "",
+                    bindParameters,
+                    parameterSets.size() > 1 ? " x " + parameterSets.size() + " sets" : "",
+                    execInfo.isSuccess(),
+                    queryInfo.getQuery());
+        }
+    }
+}
@@ -28,6 +28,7 @@ public interface BillItemMapper {
             @Mapping(target = "purchaseBill", ignore = true),    // Set by service
             @Mapping(target = "masterMaterial", ignore = true), // Set by service using masterMaterialId from DTO
             @Mapping(target = "itemTotalPrice", ignore = true),  // Calculated by @PrePersist/@PreUpdate
+            @Mapping(target = "billDate", ignore = true),        // Copied from the bill by @PrePersist
             @Mapping(target = "grnReceivedForItem", ignore = true), // Defaults in entity or set by service
             @Mapping(target = "remarks", ignore = true)          // Optional, set later
     })
@@ -53,6 +53,8 @@ public interface PurchaseBillMapper {
             @Mapping(target = "site", ignore = true),         // Service sets from siteId
             @Mapping(target = "billItems", ignore = true),    // Service creates and sets these from DTO items
             @Mapping(target = "overallGrnStatus", ignore = true), // Set by service/default
+            @Mapping(target = "totalItemCount", ignore = true),   // Maintained by service
+            @Mapping(target = "receivedItemCount", ignore = true),
             @Mapping(target = "totalAmount", ignore = true),      // Calculated by service
             @Mapping(target = "createdAt", ignore = true),
             @Mapping(target = "updatedAt", ignore = true)
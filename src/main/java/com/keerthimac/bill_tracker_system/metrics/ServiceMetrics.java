@@ -0,0 +1,15 @@
+package com.keerthimac.bill_tracker_system.metrics;
+
+/**
+ * Meter names shared by the service implementations. Every public service method is timed and counted through
+ * class-level @Timed/@Counted; TimedAspect and CountedAspect tag each meter with class, method and exception
+ * (or result), so one timer name covers all services and hot paths are found by tag.
+ */
+public final class ServiceMetrics {
+
+    public static final String TIMER = "bill_tracker.service";
+    public static final String COUNTER = "bill_tracker.service.calls";
+
+    private ServiceMetrics() {
+    }
+}
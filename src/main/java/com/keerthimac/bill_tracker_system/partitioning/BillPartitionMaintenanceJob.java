@@ -0,0 +1,102 @@
+package com.keerthimac.bill_tracker_system.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps the bill_date range partitions of purchase_bills and bill_items ahead of time (profile "partitioned",
+ * see db/partitioning). Each run splits new monthly or yearly partitions off the catch-all p_future partition
+ * until the current period and the configured number of periods after it have their own partition.
+ * <p>
+ * p_future normally holds no rows (bills are not dated months ahead), so REORGANIZE PARTITION only rewrites
+ * an empty partition and is cheap enough to run online.
+ */
+@Component
+@ConditionalOnProperty(name = "bill-tracker.partitioning.enabled", havingValue = "true")
+public class BillPartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BillPartitionMaintenanceJob.class);
+
+    public static final List<String> PARTITIONED_TABLES = List.of("purchase_bills", "bill_items");
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionGranularity granularity;
+    private final int periodsAhead;
+
+    @Autowired
+    public BillPartitionMaintenanceJob(JdbcTemplate jdbcTemplate,
+                                       @Value("${bill-tracker.partitioning.granularity:monthly}") String granularity,
+                                       @Value("${bill-tracker.partitioning.periods-ahead:3}") int periodsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.granularity = PartitionGranularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        this.periodsAhead = periodsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${bill-tracker.partitioning.cron:0 0 3 * * *}")
+    public void createFuturePartitions() {
+        LocalDate today = LocalDate.now();
+        for (String table : PARTITIONED_TABLES) {
+            ensurePartitions(table, today);
+        }
+    }
+
+    /**
+     * Splits partitions off p_future until every period up to periodsAhead after today's has its own partition.
+     * @param table The partitioned table.
+     * @param today The date the periods are counted from.
+     * @return The number of partitions created.
+     */
+    public int ensurePartitions(String table, LocalDate today) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION", table);
+        int count = partitions.size();
+        if (count < 2 || !FUTURE_PARTITION.equals(partitions.get(count - 1).get("PARTITION_NAME"))) {
+            log.warn("Table {} is not range-partitioned with a trailing {} partition; skipping partition maintenance",
+                    table, FUTURE_PARTITION);
+            return 0;
+        }
+
+        // RANGE COLUMNS on a DATE reports its bound quoted, e.g. '2026-11-01'
+        String upperBound = String.valueOf(partitions.get(count - 2).get("PARTITION_DESCRIPTION")).replace("'", "");
+        LocalDate boundary = LocalDate.parse(upperBound);
+        LocalDate target = granularity.periodStart(today);
+        for (int i = 0; i <= periodsAhead; i++) {
+            target = granularity.nextPeriodStart(target);
+        }
+
+        StringBuilder newPartitions = new StringBuilder();
+        int created = 0;
+        while (boundary.isBefore(target)) {
+            LocalDate next = granularity.nextPeriodStart(boundary);
+            newPartitions.append("PARTITION ").append(granularity.partitionName(boundary))
+                    .append(" VALUES LESS THAN ('").append(next).append("'), ");
+            boundary = next;
+            created++;
+        }
+        if (created == 0) {
+            return 0;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                newPartitions + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        log.info("Created {} {} partition(s) on {} up to {}", created, granularity.name().toLowerCase(Locale.ROOT),
+                table, boundary);
+        return created;
+    }
+}
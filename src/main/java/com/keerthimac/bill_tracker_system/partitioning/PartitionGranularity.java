@@ -0,0 +1,39 @@
+package com.keerthimac.bill_tracker_system.partitioning;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Size of the bill_date range partitions created by BillPartitionMaintenanceJob.
+ */
+public enum PartitionGranularity {
+    MONTHLY(DateTimeFormatter.ofPattern("'p'yyyyMM")),
+    YEARLY(DateTimeFormatter.ofPattern("'p'yyyy"));
+
+    private final DateTimeFormatter partitionName;
+
+    PartitionGranularity(DateTimeFormatter partitionName) {
+        this.partitionName = partitionName;
+    }
+
+    /**
+     * @return The first day of the period containing the date.
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return this == MONTHLY ? date.withDayOfMonth(1) : date.withDayOfYear(1);
+    }
+
+    /**
+     * @return The first day of the period after the one containing the date.
+     */
+    public LocalDate nextPeriodStart(LocalDate date) {
+        return this == MONTHLY ? periodStart(date).plusMonths(1) : periodStart(date).plusYears(1);
+    }
+
+    /**
+     * @return The partition name for the period containing the date, e.g. p202611 or p2026.
+     */
+    public String partitionName(LocalDate date) {
+        return partitionName.format(date);
+    }
+}
@@ -0,0 +1,171 @@
+package com.keerthimac.bill_tracker_system.reporting;
+
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.SpendRollup;
+import com.keerthimac.bill_tracker_system.repository.SpendRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps spend_rollups in step with purchase_bills. Bill writes describe what a bill contributes to its
+ * rollup row (a Contribution) before and after the change; the difference is applied as an upsert in the
+ * caller's transaction, so rollups commit or roll back together with the bill.
+ * <p>
+ * Multi-bill writes (imports, bulk GRN) collect their changes in a Batch, which nets them out per rollup
+ * row and issues one upsert per row touched instead of one per bill.
+ */
+@Component
+public class SpendRollupRecorder {
+
+    private final SpendRollupRepository spendRollupRepository;
+
+    @Autowired
+    public SpendRollupRecorder(SpendRollupRepository spendRollupRepository) {
+        this.spendRollupRepository = spendRollupRepository;
+    }
+
+    /**
+     * Captures what a bill currently contributes to its rollup row. Call it before changing the bill
+     * to get the "before" side of replace().
+     * @param bill The purchase bill (site and supplier may be uninitialised proxies; only their IDs are read).
+     * @return The bill's contribution.
+     */
+    public Contribution contributionOf(PurchaseBill bill) {
+        Long supplierId = bill.getSupplier() == null ? SpendRollup.NO_SUPPLIER : bill.getSupplier().getId();
+        return new Contribution(bill.getSite().getId(), supplierId, bill.getBillDate().withDayOfMonth(1),
+                bill.getTotalAmount() == null ? BigDecimal.ZERO : bill.getTotalAmount(),
+                bill.getOverallGrnStatus() != OverallGrnStatus.FULLY_RECEIVED);
+    }
+
+    public void add(Contribution contribution) {
+        Batch batch = batch();
+        batch.add(contribution);
+        batch.flush();
+    }
+
+    public void remove(Contribution contribution) {
+        Batch batch = batch();
+        batch.remove(contribution);
+        batch.flush();
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        Batch batch = batch();
+        batch.replace(before, after);
+        batch.flush();
+    }
+
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Accumulates rollup deltas; flush() writes them, skipping rows whose deltas cancel out.
+     * Not thread-safe; use one per transaction.
+     */
+    public final class Batch {
+        // Sorted, so concurrent batches lock shared rollup rows in the same order and cannot deadlock on each other
+        private final Map<RollupKey, Delta> deltas = new TreeMap<>(RollupKey.ORDER);
+
+        private Batch() {
+        }
+
+        public void add(Contribution contribution) {
+            apply(contribution, 1);
+        }
+
+        public void remove(Contribution contribution) {
+            apply(contribution, -1);
+        }
+
+        public void replace(Contribution before, Contribution after) {
+            apply(before, -1);
+            apply(after, 1);
+        }
+
+        private void apply(Contribution contribution, int sign) {
+            Delta delta = deltas.computeIfAbsent(contribution.key, key -> new Delta());
+            delta.billCount += sign;
+            delta.totalAmount = sign > 0 ? delta.totalAmount.add(contribution.totalAmount)
+                    : delta.totalAmount.subtract(contribution.totalAmount);
+            if (contribution.pendingGrn) {
+                delta.pendingGrnCount += sign;
+            }
+        }
+
+        public void flush() {
+            deltas.forEach((key, delta) -> {
+                if (!delta.isZero()) {
+                    spendRollupRepository.applyDelta(key.siteId, key.supplierId, key.periodMonth,
+                            delta.billCount, delta.totalAmount, delta.pendingGrnCount);
+                }
+            });
+            deltas.clear();
+        }
+    }
+
+    /**
+     * What one bill adds to its rollup row: one bill, its total amount and, unless fully received, one pending GRN.
+     */
+    public static final class Contribution {
+        private final RollupKey key;
+        private final BigDecimal totalAmount;
+        private final boolean pendingGrn;
+
+        private Contribution(Long siteId, Long supplierId, LocalDate periodMonth, BigDecimal totalAmount, boolean pendingGrn) {
+            this.key = new RollupKey(siteId, supplierId, periodMonth);
+            this.totalAmount = totalAmount;
+            this.pendingGrn = pendingGrn;
+        }
+    }
+
+    private static final class RollupKey {
+        private static final Comparator<RollupKey> ORDER = Comparator
+                .comparing((RollupKey key) -> key.siteId)
+                .thenComparing(key -> key.supplierId)
+                .thenComparing(key -> key.periodMonth);
+
+        private final Long siteId;
+        private final Long supplierId;
+        private final LocalDate periodMonth;
+
+        private RollupKey(Long siteId, Long supplierId, LocalDate periodMonth) {
+            this.siteId = siteId;
+            this.supplierId = supplierId;
+            this.periodMonth = periodMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupKey)) return false;
+            RollupKey other = (RollupKey) o;
+            return Objects.equals(siteId, other.siteId)
+                    && Objects.equals(supplierId, other.supplierId)
+                    && Objects.equals(periodMonth, other.periodMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(siteId, supplierId, periodMonth);
+        }
+    }
+
+    private static final class Delta {
+        private long billCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private long pendingGrnCount;
+
+        private boolean isZero() {
+            return billCount == 0 && totalAmount.signum() == 0 && pendingGrnCount == 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.keerthimac.bill_tracker_system.repository;
+
+import com.keerthimac.bill_tracker_system.entity.ArchivedPurchaseBill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedPurchaseBillRepository extends JpaRepository<ArchivedPurchaseBill, Long> {
+}
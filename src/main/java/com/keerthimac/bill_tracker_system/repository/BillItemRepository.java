@@ -1,10 +1,19 @@
 package com.keerthimac.bill_tracker_system.repository;
 
+import com.keerthimac.bill_tracker_system.dto.CategorySpendDTO;
+import com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO;
 import com.keerthimac.bill_tracker_system.entity.BillItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BillItemRepository extends JpaRepository<BillItem, Long> {
@@ -32,6 +41,94 @@ public interface BillItemRepository extends JpaRepository<BillItem, Long> {
      */
     boolean existsByMasterMaterialId(Long masterMaterialId);
 
+    /**
+     * Finds a bill item together with its master material and category, which is everything
+     * BillItemMapper needs to map it without further lazy loads.
+     * @param id The ID of the BillItem.
+     * @return The BillItem, if found.
+     */
+    @EntityGraph(attributePaths = {"masterMaterial", "masterMaterial.itemCategory"})
+    Optional<BillItem> findWithMaterialById(Long id);
+
+    /**
+     * Copies a bill's new date onto its items (the denormalised bill_items.bill_date).
+     * On a partitioned bill_items table this moves the rows to the partition of the new date.
+     * @param purchaseBillId The ID of the PurchaseBill whose date changed.
+     * @param billDate The new bill date.
+     * @return The number of items updated.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BillItem bi SET bi.billDate = :billDate WHERE bi.purchaseBill.id = :purchaseBillId")
+    int updateBillDate(@Param("purchaseBillId") Long purchaseBillId, @Param("billDate") LocalDate billDate);
+
+    // Bulk delete of the items of several bills (archiving); one statement instead of a cascade per item
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BillItem bi WHERE bi.purchaseBill.id IN :purchaseBillIds")
+    int deleteByPurchaseBillIds(@Param("purchaseBillIds") Collection<Long> purchaseBillIds);
+
+    /**
+     * Sums quantity and spend per site, master material and unit for bills dated within a range.
+     * Driven by the (site_id, bill_date) / (bill_date) indexes on purchase_bills and aggregated from the
+     * covering index on bill_items. The redundant bi.billDate predicate lets a partitioned bill_items table
+     * prune to the partitions of the date range.
+     * @param siteId Optional site filter (null for all sites).
+     * @param startDate First bill date (inclusive).
+     * @param endDate Last bill date (inclusive).
+     * @return One row per site, material and unit, highest spend first within each site.
+     */
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO(" +
+            "s.id, s.name, mm.id, mm.materialCode, mm.name, ic.name, bi.unit, " +
+            "SUM(bi.quantity), SUM(bi.itemTotalPrice), COUNT(bi)) " +
+            "FROM BillItem bi JOIN bi.purchaseBill pb JOIN pb.site s JOIN bi.masterMaterial mm JOIN mm.itemCategory ic " +
+            "WHERE pb.billDate BETWEEN :startDate AND :endDate AND bi.billDate BETWEEN :startDate AND :endDate " +
+            "AND (:siteId IS NULL OR s.id = :siteId) " +
+            "GROUP BY s.id, s.name, mm.id, mm.materialCode, mm.name, ic.name, bi.unit " +
+            "ORDER BY s.name ASC, SUM(bi.itemTotalPrice) DESC")
+    List<MaterialConsumptionDTO> sumByMaterial(@Param("siteId") Long siteId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Monthly variant of sumByMaterial, optionally narrowed to one master material.
+     * @param siteId Optional site filter (null for all sites).
+     * @param masterMaterialId Optional material filter (null for all materials).
+     * @param startDate First bill date (inclusive).
+     * @param endDate Last bill date (inclusive).
+     * @return One row per site, material, unit and month, in month order.
+     */
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO(" +
+            "s.id, s.name, mm.id, mm.materialCode, mm.name, ic.name, bi.unit, " +
+            "YEAR(pb.billDate), MONTH(pb.billDate), " +
+            "SUM(bi.quantity), SUM(bi.itemTotalPrice), COUNT(bi)) " +
+            "FROM BillItem bi JOIN bi.purchaseBill pb JOIN pb.site s JOIN bi.masterMaterial mm JOIN mm.itemCategory ic " +
+            "WHERE pb.billDate BETWEEN :startDate AND :endDate AND bi.billDate BETWEEN :startDate AND :endDate " +
+            "AND (:siteId IS NULL OR s.id = :siteId) " +
+            "AND (:masterMaterialId IS NULL OR mm.id = :masterMaterialId) " +
+            "GROUP BY s.id, s.name, mm.id, mm.materialCode, mm.name, ic.name, bi.unit, YEAR(pb.billDate), MONTH(pb.billDate) " +
+            "ORDER BY YEAR(pb.billDate) ASC, MONTH(pb.billDate) ASC, s.name ASC, mm.name ASC")
+    List<MaterialConsumptionDTO> sumByMaterialAndMonth(@Param("siteId") Long siteId,
+                                                       @Param("masterMaterialId") Long masterMaterialId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sums spend per site and item category for bills dated within a range.
+     * @param siteId Optional site filter (null for all sites).
+     * @param startDate First bill date (inclusive).
+     * @param endDate Last bill date (inclusive).
+     * @return One row per site and category, highest spend first within each site.
+     */
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.CategorySpendDTO(" +
+            "s.id, s.name, ic.id, ic.name, SUM(bi.itemTotalPrice), COUNT(bi)) " +
+            "FROM BillItem bi JOIN bi.purchaseBill pb JOIN pb.site s JOIN bi.masterMaterial mm JOIN mm.itemCategory ic " +
+            "WHERE pb.billDate BETWEEN :startDate AND :endDate AND bi.billDate BETWEEN :startDate AND :endDate " +
+            "AND (:siteId IS NULL OR s.id = :siteId) " +
+            "GROUP BY s.id, s.name, ic.id, ic.name " +
+            "ORDER BY s.name ASC, SUM(bi.itemTotalPrice) DESC")
+    List<CategorySpendDTO> sumByCategory(@Param("siteId") Long siteId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
     // The methods findByItemCategoryId(Long itemCategoryId) and
     // findByMaterialName(String materialName) have been removed
     // because BillItem no longer has direct itemCategoryId or materialName properties.
@@ -2,10 +2,14 @@ package com.keerthimac.bill_tracker_system.repository;
 
 import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface MasterMaterialRepository extends JpaRepository<MasterMaterial, Long> {
@@ -41,6 +45,14 @@ public interface MasterMaterialRepository extends JpaRepository<MasterMaterial,
      */
     List<MasterMaterial> findByItemCategoryId(Long itemCategoryId);
 
+    /**
+     * Returns which of the given IDs belong to an existing master material, without loading the entities.
+     * @param ids The IDs to check.
+     * @return The subset of the IDs that exist.
+     */
+    @Query("SELECT mm.id FROM MasterMaterial mm WHERE mm.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Checks if a master material with the given material code exists, ignoring case.
      * More efficient than fetching the whole entity if you only need to check existence.
@@ -1,15 +1,27 @@
 package com.keerthimac.bill_tracker_system.repository;
+import com.keerthimac.bill_tracker_system.dto.BillExportRowDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillSummaryDTO;
 import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
 import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
 import com.keerthimac.bill_tracker_system.entity.Site;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PurchaseBillRepository extends JpaRepository<PurchaseBill, Long> {
@@ -17,15 +29,40 @@ public interface PurchaseBillRepository extends JpaRepository<PurchaseBill, Long
     // Find bills by Site
     List<PurchaseBill> findBySite(Site site);
 
-    // Find bills by Site Id (alternative to passing the Site object)
+    // Find bills by Site Id (alternative to passing the Site object).
+    // Listing methods load PurchaseBill.DETAILS_GRAPH so mapping to DTOs triggers no lazy loads.
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
     List<PurchaseBill> findBySiteId(Long siteId);
 
     // Find bills by bill date range
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
     List<PurchaseBill> findByBillDateBetween(LocalDate startDate, LocalDate endDate);
 
     // Find bills for a specific site and date range
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
     List<PurchaseBill> findBySiteIdAndBillDateBetween(Long siteId, LocalDate startDate, LocalDate endDate);
 
+    // All bills with everything the response DTO needs, in a single query
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
+    @Query("SELECT pb FROM PurchaseBill pb")
+    List<PurchaseBill> findAllWithDetails();
+
+    // Single bill with everything the response DTO needs
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
+    @Query("SELECT pb FROM PurchaseBill pb WHERE pb.id = :id")
+    Optional<PurchaseBill> findWithDetailsById(@Param("id") Long id);
+
+    // Single bill locked (SELECT ... FOR UPDATE) for read-modify-write updates: the GRN counter and status written
+    // back at commit are current, and a concurrent adjustReceivedItemCount waits instead of being overwritten
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pb FROM PurchaseBill pb WHERE pb.id = :id")
+    Optional<PurchaseBill> findForUpdateById(@Param("id") Long id);
+
+    // Bills for a page of ids (see findPageIdsAfterCursor); callers restore the page order
+    @EntityGraph(PurchaseBill.DETAILS_GRAPH)
+    @Query("SELECT pb FROM PurchaseBill pb WHERE pb.id IN :ids")
+    List<PurchaseBill> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
     // Find bills by GRN status
     List<PurchaseBill> findByOverallGrnStatus(OverallGrnStatus status);
 
@@ -35,6 +72,118 @@ public interface PurchaseBillRepository extends JpaRepository<PurchaseBill, Long
     @Query("SELECT pb FROM PurchaseBill pb LEFT JOIN FETCH pb.billItems WHERE pb.id = :id")
     Optional<PurchaseBill> findByIdWithItems(@Param("id") Long id);
 
+    /**
+     * Atomically adds a delta to a bill's received-item counter without loading the bill or its items.
+     * The row lock taken by the UPDATE serialises concurrent GRN updates on the same bill.
+     * Pending changes are flushed first and the persistence context is cleared afterwards, so the bill
+     * must be re-read to see the new counter.
+     * @param billId The ID of the PurchaseBill.
+     * @param delta The change in received items (negative when items are un-ticked).
+     * @return The number of rows updated (0 if the bill does not exist).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PurchaseBill pb SET pb.receivedItemCount = pb.receivedItemCount + :delta WHERE pb.id = :billId")
+    int adjustReceivedItemCount(@Param("billId") Long billId, @Param("delta") int delta);
+
+    /**
+     * Finds the oldest bills that can be archived: in the given GRN status (FULLY_RECEIVED), with the GRN hardcopy
+     * handed to the accountant and dated before a cutoff.
+     * @param status The GRN status a bill must have.
+     * @param cutoff Bills dated before this date qualify.
+     * @param pageable Limits the batch size.
+     * @return Bill IDs, oldest first.
+     */
+    @Query("SELECT pb.id FROM PurchaseBill pb WHERE pb.overallGrnStatus = :status " +
+            "AND pb.grnHardcopyHandedToAccountant = true AND pb.billDate < :cutoff " +
+            "ORDER BY pb.billDate ASC, pb.id ASC")
+    List<Long> findArchivableIds(@Param("status") OverallGrnStatus status,
+                                 @Param("cutoff") LocalDate cutoff,
+                                 Pageable pageable);
+
+    /**
+     * Locks the given bills (SELECT ... FOR UPDATE) and returns those that still qualify for archiving, so a GRN
+     * update that reopens a bill cannot interleave with the bill being archived.
+     * @param ids Candidate bill IDs from findArchivableIds.
+     * @param status The GRN status a bill must still have.
+     * @return The IDs that still qualify.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pb.id FROM PurchaseBill pb WHERE pb.id IN :ids AND pb.overallGrnStatus = :status " +
+            "AND pb.grnHardcopyHandedToAccountant = true")
+    List<Long> lockArchivableIds(@Param("ids") Collection<Long> ids, @Param("status") OverallGrnStatus status);
+
+    // Bulk delete used by archiving, after the items are deleted (see BillItemRepository.deleteByPurchaseBillIds)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PurchaseBill pb WHERE pb.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset (seek) pagination over bills ordered newest first by (billDate, id).
+     * Returns the ids of the bills that come strictly after the cursor position, so the cost of a page does not
+     * grow with how deep the client has paged. Site and date filters are optional (pass null to skip).
+     * Only ids are selected because a row limit cannot be combined with fetching the billItems collection;
+     * load the page itself with findAllWithDetailsByIdIn.
+     * @param siteId Optional site filter.
+     * @param startDate Optional inclusive lower bound on billDate.
+     * @param endDate Optional inclusive upper bound on billDate.
+     * @param cursorDate billDate of the last bill on the previous page.
+     * @param cursorId id of the last bill on the previous page.
+     * @param pageable Use Pageable.ofSize(n) to limit the page; the sort is fixed by the query.
+     * @return The ids of the next page of bills, in page order.
+     */
+    @Query("SELECT pb.id FROM PurchaseBill pb " +
+            "WHERE (:siteId IS NULL OR pb.site.id = :siteId) " +
+            "AND (:startDate IS NULL OR pb.billDate >= :startDate) " +
+            "AND (:endDate IS NULL OR pb.billDate <= :endDate) " +
+            "AND (pb.billDate < :cursorDate OR (pb.billDate = :cursorDate AND pb.id < :cursorId)) " +
+            "ORDER BY pb.billDate DESC, pb.id DESC")
+    List<Long> findPageIdsAfterCursor(@Param("siteId") Long siteId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("cursorDate") LocalDate cursorDate,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    /**
+     * Summary rows (no items, no nested objects) for list screens, newest first, one keyset page at a time;
+     * see findPageIdsAfterCursor for the filter and cursor semantics.
+     * A constructor projection has no collection to fetch, so the page is read in a single query.
+     */
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.PurchaseBillSummaryDTO(" +
+            "pb.id, pb.billNumber, pb.billDate, s.name, sup.name, pb.totalAmount, pb.overallGrnStatus) " +
+            "FROM PurchaseBill pb JOIN pb.site s LEFT JOIN pb.supplier sup " +
+            "WHERE (:siteId IS NULL OR s.id = :siteId) " +
+            "AND (:startDate IS NULL OR pb.billDate >= :startDate) " +
+            "AND (:endDate IS NULL OR pb.billDate <= :endDate) " +
+            "AND (pb.billDate < :cursorDate OR (pb.billDate = :cursorDate AND pb.id < :cursorId)) " +
+            "ORDER BY pb.billDate DESC, pb.id DESC")
+    List<PurchaseBillSummaryDTO> findSummaryPageAfterCursor(@Param("siteId") Long siteId,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate,
+                                                            @Param("cursorDate") LocalDate cursorDate,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Pageable pageable);
+
+    /**
+     * Streams bills with their lines as flat export rows, oldest first, with optional site and date filters.
+     * Rows are a constructor projection (nothing enters the persistence context) and are fetched from MySQL
+     * in windows of the hinted fetch size (requires useCursorFetch=true on the JDBC URL), so memory use does not grow
+     * with the size of the export. The stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.BillExportRowDTO(" +
+            "pb.id, pb.billNumber, pb.billDate, s.name, sup.name, pb.overallGrnStatus, pb.totalAmount, " +
+            "bi.id, mm.materialCode, mm.name, ic.name, bi.quantity, bi.unit, bi.unitPrice, bi.itemTotalPrice, bi.grnReceivedForItem) " +
+            "FROM PurchaseBill pb JOIN pb.site s LEFT JOIN pb.supplier sup " +
+            "LEFT JOIN pb.billItems bi LEFT JOIN bi.masterMaterial mm LEFT JOIN mm.itemCategory ic " +
+            "WHERE (:siteId IS NULL OR s.id = :siteId) " +
+            "AND (:startDate IS NULL OR pb.billDate >= :startDate) " +
+            "AND (:endDate IS NULL OR pb.billDate <= :endDate) " +
+            "ORDER BY pb.billDate ASC, pb.id ASC, bi.id ASC")
+    Stream<BillExportRowDTO> streamExportRows(@Param("siteId") Long siteId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
     // Example of a more complex custom query using JPQL (Java Persistence Query Language)
     // This might be useful for your reporting needs later.
     // For instance, find bills where at least one item is still pending GRN (this is a conceptual example,
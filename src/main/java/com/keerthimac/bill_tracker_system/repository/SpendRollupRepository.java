@@ -0,0 +1,88 @@
+package com.keerthimac.bill_tracker_system.repository;
+
+import com.keerthimac.bill_tracker_system.dto.SpendRollupDTO;
+import com.keerthimac.bill_tracker_system.entity.SpendRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SpendRollupRepository extends JpaRepository<SpendRollup, Long> {
+
+    /**
+     * Adds deltas to one site/supplier/month rollup row, creating the row if it does not exist yet.
+     * A single atomic upsert, so concurrent bill writes never lose an increment. VALUES(col) is deprecated on MySQL 8
+     * but, unlike the row alias form, is also accepted by MariaDB (used by the embedded load test).
+     * @param siteId The ID of the site.
+     * @param supplierId The ID of the supplier, or SpendRollup.NO_SUPPLIER.
+     * @param periodMonth The first day of the month.
+     * @param billCount Change in the number of bills.
+     * @param totalAmount Change in the total amount.
+     * @param pendingGrnCount Change in the number of bills not yet fully received.
+     * @return The MySQL affected-row count (1 for insert, 2 for update).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO spend_rollups (site_id, supplier_id, period_month, bill_count, total_amount, pending_grn_count) " +
+            "VALUES (:siteId, :supplierId, :periodMonth, :billCount, :totalAmount, :pendingGrnCount) " +
+            "ON DUPLICATE KEY UPDATE bill_count = bill_count + VALUES(bill_count), " +
+            "total_amount = total_amount + VALUES(total_amount), " +
+            "pending_grn_count = pending_grn_count + VALUES(pending_grn_count)",
+            nativeQuery = true)
+    int applyDelta(@Param("siteId") Long siteId,
+                   @Param("supplierId") Long supplierId,
+                   @Param("periodMonth") LocalDate periodMonth,
+                   @Param("billCount") long billCount,
+                   @Param("totalAmount") BigDecimal totalAmount,
+                   @Param("pendingGrnCount") long pendingGrnCount);
+
+    /**
+     * Finds rollup rows with site and supplier names, filtered by optional site, supplier and month range.
+     * Reads only rollup rows (plus a primary-key join per name), never purchase_bills or bill_items.
+     * Rows whose bills have all been deleted or moved away are skipped.
+     */
+    @Query("SELECT new com.keerthimac.bill_tracker_system.dto.SpendRollupDTO(" +
+            "r.siteId, s.name, r.supplierId, sup.name, r.periodMonth, r.billCount, r.totalAmount, r.pendingGrnCount) " +
+            "FROM SpendRollup r JOIN Site s ON s.id = r.siteId LEFT JOIN Supplier sup ON sup.id = r.supplierId " +
+            "WHERE r.billCount > 0 " +
+            "AND (:siteId IS NULL OR r.siteId = :siteId) " +
+            "AND (:supplierId IS NULL OR r.supplierId = :supplierId) " +
+            "AND (:fromMonth IS NULL OR r.periodMonth >= :fromMonth) " +
+            "AND (:toMonth IS NULL OR r.periodMonth <= :toMonth) " +
+            "ORDER BY r.periodMonth ASC, s.name ASC, sup.name ASC")
+    List<SpendRollupDTO> findRollups(@Param("siteId") Long siteId,
+                                     @Param("supplierId") Long supplierId,
+                                     @Param("fromMonth") LocalDate fromMonth,
+                                     @Param("toMonth") LocalDate toMonth);
+
+    // Rebuild support: wipes all rollups (see rebuildFromBills)
+    @Modifying
+    @Query(value = "DELETE FROM spend_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    /**
+     * Recomputes every rollup row from purchase_bills and archived_purchase_bills in one statement. Used after
+     * deleteAllRollups to repair drift or to backfill bills written before rollups existed. Archived bills still
+     * count as spend (archiving does not touch rollups); they are always fully received, so never pending.
+     * @return The number of rollup rows written.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO spend_rollups (site_id, supplier_id, period_month, bill_count, total_amount, pending_grn_count) " +
+            "SELECT b.site_id, b.supplier_id, b.period_month, COUNT(*), COALESCE(SUM(b.total_amount), 0), SUM(b.pending_grn) " +
+            "FROM (" +
+            "SELECT pb.site_id, COALESCE(pb.supplier_id, 0) AS supplier_id, DATE_FORMAT(pb.bill_date, '%Y-%m-01') AS period_month, " +
+            "pb.total_amount, CASE WHEN pb.overall_grn_status = 'FULLY_RECEIVED' THEN 0 ELSE 1 END AS pending_grn " +
+            "FROM purchase_bills pb " +
+            "UNION ALL " +
+            "SELECT ab.site_id, COALESCE(ab.supplier_id, 0), DATE_FORMAT(ab.bill_date, '%Y-%m-01'), ab.total_amount, 0 " +
+            "FROM archived_purchase_bills ab" +
+            ") b " +
+            "GROUP BY b.site_id, b.supplier_id, b.period_month",
+            nativeQuery = true)
+    int rebuildFromBills();
+}
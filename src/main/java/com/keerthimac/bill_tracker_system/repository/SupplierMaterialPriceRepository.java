@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,6 +74,50 @@ public interface SupplierMaterialPriceRepository extends JpaRepository<SupplierM
     }
 
 
+    /**
+     * Loads every active price entry for a supplier, master material and unit, sorted ascending by
+     * (effectiveFromDate, createdAt), with the associations needed to map them to response DTOs.
+     * Backs the in-memory ActivePriceIndex, which resolves the active price on a date from this list.
+     * @param supplierId The ID of the supplier.
+     * @param masterMaterialId The ID of the master material.
+     * @param unit The unit of measure.
+     * @return The active price entries, oldest effective date first.
+     */
+    @Query("SELECT smp FROM SupplierMaterialPrice smp " +
+            "JOIN FETCH smp.supplier " +
+            "JOIN FETCH smp.masterMaterial mm " +
+            "JOIN FETCH mm.itemCategory " +
+            "WHERE smp.supplier.id = :supplierId " +
+            "AND smp.masterMaterial.id = :masterMaterialId " +
+            "AND smp.unit = :unit " +
+            "AND smp.isActive = true " +
+            "ORDER BY smp.effectiveFromDate ASC, smp.createdAt ASC")
+    List<SupplierMaterialPrice> findActivePriceTimeline(
+            @Param("supplierId") Long supplierId,
+            @Param("masterMaterialId") Long masterMaterialId,
+            @Param("unit") String unit
+    );
+
+    /**
+     * Bulk variant of findActivePriceTimeline: every active price entry of a supplier for the given master materials,
+     * across all units, sorted ascending by (effectiveFromDate, createdAt).
+     * @param supplierId The ID of the supplier.
+     * @param masterMaterialIds The IDs of the master materials.
+     * @return The active price entries, oldest effective date first.
+     */
+    @Query("SELECT smp FROM SupplierMaterialPrice smp " +
+            "JOIN FETCH smp.supplier " +
+            "JOIN FETCH smp.masterMaterial mm " +
+            "JOIN FETCH mm.itemCategory " +
+            "WHERE smp.supplier.id = :supplierId " +
+            "AND mm.id IN :masterMaterialIds " +
+            "AND smp.isActive = true " +
+            "ORDER BY smp.effectiveFromDate ASC, smp.createdAt ASC")
+    List<SupplierMaterialPrice> findActivePriceTimelines(
+            @Param("supplierId") Long supplierId,
+            @Param("masterMaterialIds") Collection<Long> masterMaterialIds
+    );
+
     /**
      * Finds price entries that overlap with a given date range for a specific supplier, material, and unit,
      * excluding a specific price entry ID (useful for validation during updates).
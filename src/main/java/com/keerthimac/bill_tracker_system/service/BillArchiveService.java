@@ -0,0 +1,16 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface BillArchiveService {
+
+    // Moves closed bills (FULLY_RECEIVED, hardcopy handed to the accountant) dated before the cutoff
+    // into the archive, batchSize bills per transaction; returns the number of bills archived
+    int archiveBillsOlderThan(LocalDate cutoff, int batchSize);
+
+    // The bill as it was when archived, or empty if no archived bill has this ID
+    Optional<PurchaseBillResponseDTO> findArchivedBill(Long id);
+}
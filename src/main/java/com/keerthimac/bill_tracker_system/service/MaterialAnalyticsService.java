@@ -0,0 +1,16 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.CategorySpendDTO;
+import com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MaterialAnalyticsService {
+
+    // Date range is required and inclusive; siteId (and masterMaterialId) are optional filters
+    List<MaterialConsumptionDTO> getMaterialConsumption(Long siteId, LocalDate startDate, LocalDate endDate);
+    List<MaterialConsumptionDTO> getMonthlyMaterialConsumption(Long siteId, Long masterMaterialId,
+                                                               LocalDate startDate, LocalDate endDate);
+    List<CategorySpendDTO> getCategorySpend(Long siteId, LocalDate startDate, LocalDate endDate);
+}
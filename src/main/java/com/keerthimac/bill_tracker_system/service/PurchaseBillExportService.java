@@ -0,0 +1,14 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.exporter.BillExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface PurchaseBillExportService {
+
+    // Streams matching bills with their lines to the output, oldest first; all filters are optional
+    void exportBills(Long siteId, LocalDate startDate, LocalDate endDate, BillExportFormat format,
+                     OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.BillImportResultDTO;
+import com.keerthimac.bill_tracker_system.importer.BillImportFormat;
+
+import java.io.InputStream;
+
+public interface PurchaseBillImportService {
+
+    // Streams bill lines from the upload and persists them in chunked transactions; never buffers the whole file
+    BillImportResultDTO importBills(InputStream inputStream, BillImportFormat format);
+}
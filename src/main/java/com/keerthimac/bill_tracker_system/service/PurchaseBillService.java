@@ -1,7 +1,12 @@
 package com.keerthimac.bill_tracker_system.service;
 
+import com.keerthimac.bill_tracker_system.dto.BillGrnStatusDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkGrnUpdateRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.CursorPageDTO;
+import com.keerthimac.bill_tracker_system.dto.GrnItemUpdateResponseDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillSummaryDTO;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -11,7 +16,14 @@ public interface PurchaseBillService {
     PurchaseBillResponseDTO createPurchaseBill(PurchaseBillRequestDTO billRequestDTO);
     Optional<PurchaseBillResponseDTO> getPurchaseBillById(Long id);
     List<PurchaseBillResponseDTO> getAllPurchaseBills();
-    // Consider adding pagination for getAllPurchaseBills later: Page<PurchaseBillResponseDTO> getAllPurchaseBills(Pageable pageable);
+
+    // Keyset-paginated listing (newest first). All filters and the cursor are optional; size is capped.
+    CursorPageDTO<PurchaseBillResponseDTO> getPurchaseBillsPage(Long siteId, LocalDate startDate, LocalDate endDate,
+                                                               String cursor, Integer size);
+
+    // Summary view (no line items) for list screens; same filter and cursor semantics as above
+    CursorPageDTO<PurchaseBillSummaryDTO> getPurchaseBillSummariesPage(Long siteId, LocalDate startDate, LocalDate endDate,
+                                                                       String cursor, Integer size);
 
     List<PurchaseBillResponseDTO> getPurchaseBillsBySite(Long siteId);
     List<PurchaseBillResponseDTO> getPurchaseBillsByDateRange(LocalDate startDate, LocalDate endDate);
@@ -21,7 +33,11 @@ public interface PurchaseBillService {
 
     // GRN related updates
     PurchaseBillResponseDTO updateGrnReceivedForItem(Long billItemId, boolean received, String remarks);
-    PurchaseBillResponseDTO updateOverallBillGrnStatus(Long billId); // Could be called internally or explicitly
+    // Same update, but returns only the changed item and the bill's new GRN status
+    GrnItemUpdateResponseDTO updateGrnReceivedForItemCompact(Long billItemId, boolean received, String remarks);
+    // Applies many item GRN updates in one transaction; returns the new GRN status of each affected bill
+    List<BillGrnStatusDTO> updateGrnReceivedForItems(BulkGrnUpdateRequestDTO requestDTO);
+    PurchaseBillResponseDTO updateOverallBillGrnStatus(Long billId); // Recounts items; repairs the GRN counters if they drifted
     PurchaseBillResponseDTO updateGrnHardcopyStatus(Long billId, boolean receivedByPurchaser, boolean handedToAccountant);
 
     // For file upload - this will be a bit more involved
@@ -0,0 +1,15 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.SpendRollupDTO;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface SpendReportService {
+
+    // groupBy: "site-supplier" (default), "site" or "supplier"; every filter is optional
+    List<SpendRollupDTO> getSpend(String groupBy, Long siteId, Long supplierId, YearMonth fromMonth, YearMonth toMonth);
+
+    // Recomputes all rollups from live and archived bills; returns the number of rollup rows written
+    int rebuildRollups();
+}
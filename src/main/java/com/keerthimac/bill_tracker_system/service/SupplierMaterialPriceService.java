@@ -1,5 +1,7 @@
 package com.keerthimac.bill_tracker_system.service;
 
+import com.keerthimac.bill_tracker_system.dto.ActivePriceResultDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkActivePriceRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.PriceRevisionLogDTO; // Assuming a DTO for logs if needed for response
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
@@ -25,6 +27,9 @@ public interface SupplierMaterialPriceService {
     Optional<SupplierMaterialPriceResponseDTO> getActivePriceForSupplierMaterialUnit(
             Long supplierId, Long masterMaterialId, String unit, LocalDate date);
 
+    // Resolves the active price of many material/unit pairs of one supplier in a single pass (e.g. a whole bill)
+    List<ActivePriceResultDTO> getActivePrices(BulkActivePriceRequestDTO requestDTO);
+
     void deactivatePrice(Long priceId, String changedByUser); // Instead of hard delete
 
     List<PriceRevisionLogDTO> getPriceRevisionHistory(Long supplierMaterialPriceId); // For viewing log
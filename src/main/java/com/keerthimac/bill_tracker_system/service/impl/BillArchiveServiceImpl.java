@@ -0,0 +1,114 @@
+package com.keerthimac.bill_tracker_system.service.impl;
+
+import com.keerthimac.bill_tracker_system.archive.ArchivedBillCodec;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.entity.ArchivedPurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+import com.keerthimac.bill_tracker_system.mapper.PurchaseBillMapper;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.repository.ArchivedPurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.repository.BillItemRepository;
+import com.keerthimac.bill_tracker_system.repository.PurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.service.BillArchiveService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
+public class BillArchiveServiceImpl implements BillArchiveService {
+
+    private final PurchaseBillRepository purchaseBillRepository;
+    private final BillItemRepository billItemRepository;
+    private final ArchivedPurchaseBillRepository archivedPurchaseBillRepository;
+    private final PurchaseBillMapper purchaseBillMapper;
+    private final ArchivedBillCodec archivedBillCodec;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BillArchiveServiceImpl(PurchaseBillRepository purchaseBillRepository,
+                                  BillItemRepository billItemRepository,
+                                  ArchivedPurchaseBillRepository archivedPurchaseBillRepository,
+                                  PurchaseBillMapper purchaseBillMapper,
+                                  ArchivedBillCodec archivedBillCodec,
+                                  PlatformTransactionManager transactionManager) {
+        this.purchaseBillRepository = purchaseBillRepository;
+        this.billItemRepository = billItemRepository;
+        this.archivedPurchaseBillRepository = archivedPurchaseBillRepository;
+        this.purchaseBillMapper = purchaseBillMapper;
+        this.archivedBillCodec = archivedBillCodec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public int archiveBillsOlderThan(LocalDate cutoff, int batchSize) {
+        if (batchSize < 1) {
+            throw new InvalidDataException("Archive batch size must be at least 1.");
+        }
+        // One transaction per batch keeps locks and the persistence context small; committed batches stay archived
+        int archived = 0;
+        int candidates;
+        do {
+            int[] batch = transactionTemplate.execute(status -> archiveBatch(cutoff, batchSize));
+            candidates = batch[0];
+            archived += batch[1];
+        } while (candidates == batchSize);
+        return archived;
+    }
+
+    // Returns {candidates found, bills archived}; a candidate reopened in the meantime is skipped
+    private int[] archiveBatch(LocalDate cutoff, int batchSize) {
+        List<Long> candidateIds = purchaseBillRepository.findArchivableIds(
+                OverallGrnStatus.FULLY_RECEIVED, cutoff, Pageable.ofSize(batchSize));
+        if (candidateIds.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        List<Long> billIds = purchaseBillRepository.lockArchivableIds(candidateIds, OverallGrnStatus.FULLY_RECEIVED);
+        if (billIds.isEmpty()) {
+            return new int[]{candidateIds.size(), 0};
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<ArchivedPurchaseBill> archivedBills = new ArrayList<>(billIds.size());
+        for (PurchaseBill bill : purchaseBillRepository.findAllWithDetailsByIdIn(billIds)) {
+            ArchivedPurchaseBill archivedBill = new ArchivedPurchaseBill();
+            archivedBill.setId(bill.getId());
+            archivedBill.setBillNumber(bill.getBillNumber());
+            archivedBill.setBillDate(bill.getBillDate());
+            archivedBill.setSiteId(bill.getSite().getId());
+            archivedBill.setSupplierId(bill.getSupplier() == null ? null : bill.getSupplier().getId());
+            archivedBill.setTotalAmount(bill.getTotalAmount());
+            archivedBill.setItemCount(bill.getBillItems().size());
+            archivedBill.setArchivedAt(archivedAt);
+            archivedBill.setPayload(archivedBillCodec.encode(purchaseBillMapper.toDto(bill)));
+            archivedBills.add(archivedBill);
+        }
+        archivedPurchaseBillRepository.saveAll(archivedBills);
+
+        // Spend rollups are left alone: an archived bill still counts as spend for its month
+        billItemRepository.deleteByPurchaseBillIds(billIds);
+        purchaseBillRepository.deleteByIds(billIds);
+        return new int[]{candidateIds.size(), billIds.size()};
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PurchaseBillResponseDTO> findArchivedBill(Long id) {
+        return archivedPurchaseBillRepository.findById(id)
+                .map(archivedBill -> archivedBillCodec.decode(archivedBill.getPayload()));
+    }
+}
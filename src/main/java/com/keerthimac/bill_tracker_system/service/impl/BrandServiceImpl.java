@@ -7,9 +7,12 @@ import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.exception.ResourceInUseException; // New custom exception
 import com.keerthimac.bill_tracker_system.mapper.BrandMapper;
 import com.keerthimac.bill_tracker_system.entity.Brand;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.BrandRepository;
 import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository; // To check usage
 import com.keerthimac.bill_tracker_system.service.BrandService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +22,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
@@ -1,12 +1,16 @@
 package com.keerthimac.bill_tracker_system.service.impl;
 
+import com.keerthimac.bill_tracker_system.cache.ActivePriceIndex;
 import com.keerthimac.bill_tracker_system.dto.ItemCategoryDTO;
 import com.keerthimac.bill_tracker_system.entity.ItemCategory; // Ensure this import points to your model package
 import com.keerthimac.bill_tracker_system.exception.DuplicateResourceException;
 import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.mapper.ItemCategoryMapper; // Ensure this import points to your mapper package
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
 import com.keerthimac.bill_tracker_system.service.ItemCategoryService; // Ensure this import points to your service interface package
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,15 +19,20 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class ItemCategoryServiceImpl implements ItemCategoryService {
 
     private final ItemCategoryRepository itemCategoryRepository;
     private final ItemCategoryMapper itemCategoryMapper;
+    private final ActivePriceIndex activePriceIndex;
 
     @Autowired
-    public ItemCategoryServiceImpl(ItemCategoryRepository itemCategoryRepository, ItemCategoryMapper itemCategoryMapper) {
+    public ItemCategoryServiceImpl(ItemCategoryRepository itemCategoryRepository, ItemCategoryMapper itemCategoryMapper,
+                                   ActivePriceIndex activePriceIndex) {
         this.itemCategoryRepository = itemCategoryRepository;
         this.itemCategoryMapper = itemCategoryMapper;
+        this.activePriceIndex = activePriceIndex;
     }
 
     @Override
@@ -80,6 +89,7 @@ public class ItemCategoryServiceImpl implements ItemCategoryService {
         // For more complex updates, MapStruct's @MappingTarget can be useful.
 
         ItemCategory updatedCategory = itemCategoryRepository.save(existingCategory);
+        activePriceIndex.invalidateAll(); // Cached active prices embed category details
         return itemCategoryMapper.toDto(updatedCategory);
     }
 
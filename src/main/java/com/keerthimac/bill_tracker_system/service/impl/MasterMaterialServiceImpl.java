@@ -1,5 +1,6 @@
 package com.keerthimac.bill_tracker_system.service.impl;
 
+import com.keerthimac.bill_tracker_system.cache.ActivePriceIndex;
 import com.keerthimac.bill_tracker_system.dto.MasterMaterialRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.MasterMaterialResponseDTO;
 import com.keerthimac.bill_tracker_system.exception.DuplicateResourceException;
@@ -7,10 +8,13 @@ import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.mapper.MasterMaterialMapper;
 import com.keerthimac.bill_tracker_system.entity.ItemCategory;
 import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
 import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
 // TODO: Import BillItemRepository and SupplierMaterialPriceRepository when available for delete check
 import com.keerthimac.bill_tracker_system.service.MasterMaterialService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,20 +24,25 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class MasterMaterialServiceImpl implements MasterMaterialService {
 
     private final MasterMaterialRepository masterMaterialRepository;
     private final ItemCategoryRepository itemCategoryRepository;
     private final MasterMaterialMapper masterMaterialMapper;
+    private final ActivePriceIndex activePriceIndex;
     // TODO: Inject BillItemRepository and SupplierMaterialPriceRepository for delete checks
 
     @Autowired
     public MasterMaterialServiceImpl(MasterMaterialRepository masterMaterialRepository,
                                      ItemCategoryRepository itemCategoryRepository,
-                                     MasterMaterialMapper masterMaterialMapper) {
+                                     MasterMaterialMapper masterMaterialMapper,
+                                     ActivePriceIndex activePriceIndex) {
         this.masterMaterialRepository = masterMaterialRepository;
         this.itemCategoryRepository = itemCategoryRepository;
         this.masterMaterialMapper = masterMaterialMapper;
+        this.activePriceIndex = activePriceIndex;
     }
 
     @Override
@@ -133,6 +142,7 @@ public class MasterMaterialServiceImpl implements MasterMaterialService {
         // updatedAt will be automatically handled by @UpdateTimestamp
 
         MasterMaterial updatedMaterial = masterMaterialRepository.save(existingMaterial);
+        activePriceIndex.invalidateAll(); // Cached active prices embed material details
         return masterMaterialMapper.toDto(updatedMaterial);
     }
 
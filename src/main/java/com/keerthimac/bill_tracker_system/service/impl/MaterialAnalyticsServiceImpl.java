@@ -0,0 +1,72 @@
+package com.keerthimac.bill_tracker_system.service.impl;
+
+import com.keerthimac.bill_tracker_system.dto.CategorySpendDTO;
+import com.keerthimac.bill_tracker_system.dto.MaterialConsumptionDTO;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.repository.BillItemRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.service.MaterialAnalyticsService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
+public class MaterialAnalyticsServiceImpl implements MaterialAnalyticsService {
+
+    private final BillItemRepository billItemRepository;
+    private final SiteRepository siteRepository;
+    private final MasterMaterialRepository masterMaterialRepository;
+
+    @Autowired
+    public MaterialAnalyticsServiceImpl(BillItemRepository billItemRepository,
+                                        SiteRepository siteRepository,
+                                        MasterMaterialRepository masterMaterialRepository) {
+        this.billItemRepository = billItemRepository;
+        this.siteRepository = siteRepository;
+        this.masterMaterialRepository = masterMaterialRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MaterialConsumptionDTO> getMaterialConsumption(Long siteId, LocalDate startDate, LocalDate endDate) {
+        validateFilters(siteId, startDate, endDate);
+        return billItemRepository.sumByMaterial(siteId, startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MaterialConsumptionDTO> getMonthlyMaterialConsumption(Long siteId, Long masterMaterialId,
+                                                                      LocalDate startDate, LocalDate endDate) {
+        validateFilters(siteId, startDate, endDate);
+        if (masterMaterialId != null && !masterMaterialRepository.existsById(masterMaterialId)) {
+            throw new ResourceNotFoundException("MasterMaterial not found with id: " + masterMaterialId);
+        }
+        return billItemRepository.sumByMaterialAndMonth(siteId, masterMaterialId, startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategorySpendDTO> getCategorySpend(Long siteId, LocalDate startDate, LocalDate endDate) {
+        validateFilters(siteId, startDate, endDate);
+        return billItemRepository.sumByCategory(siteId, startDate, endDate);
+    }
+
+    private void validateFilters(Long siteId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDataException("startDate cannot be after endDate.");
+        }
+        if (siteId != null && !siteRepository.existsById(siteId)) {
+            throw new ResourceNotFoundException("Site not found with id: " + siteId);
+        }
+    }
+}
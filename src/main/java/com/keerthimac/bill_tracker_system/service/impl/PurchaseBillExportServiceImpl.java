@@ -0,0 +1,55 @@
+package com.keerthimac.bill_tracker_system.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keerthimac.bill_tracker_system.dto.BillExportRowDTO;
+import com.keerthimac.bill_tracker_system.exporter.BillExportFormat;
+import com.keerthimac.bill_tracker_system.exporter.BillExportRowWriter;
+import com.keerthimac.bill_tracker_system.exporter.CsvBillExportRowWriter;
+import com.keerthimac.bill_tracker_system.exporter.NdjsonBillExportRowWriter;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.repository.PurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillExportService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
+public class PurchaseBillExportServiceImpl implements PurchaseBillExportService {
+
+    private final PurchaseBillRepository purchaseBillRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public PurchaseBillExportServiceImpl(PurchaseBillRepository purchaseBillRepository, ObjectMapper objectMapper) {
+        this.purchaseBillRepository = purchaseBillRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // Keeps the connection (and the server-side cursor) open while the stream is read
+    public void exportBills(Long siteId, LocalDate startDate, LocalDate endDate, BillExportFormat format,
+                            OutputStream outputStream) throws IOException {
+        BillExportRowWriter writer = format == BillExportFormat.CSV
+                ? new CsvBillExportRowWriter(outputStream)
+                : new NdjsonBillExportRowWriter(outputStream, objectMapper);
+
+        // Projection rows are not managed, so there is nothing to detach and heap use stays flat however many rows are read
+        try (Stream<BillExportRowDTO> rows = purchaseBillRepository.streamExportRows(siteId, startDate, endDate)) {
+            Iterator<BillExportRowDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next());
+            }
+        }
+        writer.finish();
+    }
+}
@@ -0,0 +1,425 @@
+package com.keerthimac.bill_tracker_system.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keerthimac.bill_tracker_system.dto.BillImportResultDTO;
+import com.keerthimac.bill_tracker_system.dto.ImportRowErrorDTO;
+import com.keerthimac.bill_tracker_system.entity.BillItem;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+import com.keerthimac.bill_tracker_system.importer.BillImportFormat;
+import com.keerthimac.bill_tracker_system.importer.BillImportRow;
+import com.keerthimac.bill_tracker_system.importer.BillImportRowReader;
+import com.keerthimac.bill_tracker_system.importer.CsvBillImportRowReader;
+import com.keerthimac.bill_tracker_system.importer.NdjsonBillImportRowReader;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.reporting.SpendRollupRecorder;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.PurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillImportService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
+public class PurchaseBillImportServiceImpl implements PurchaseBillImportService {
+
+    // Bills are committed in transactions of about this many lines; inserts inside are batched by hibernate.jdbc.batch_size
+    static final int CHUNK_LINES = 1000;
+    // The result lists at most this many errors (errorCount still counts all of them)
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Long AMBIGUOUS = -1L; // Lookup marker for a site or material name shared by several rows
+
+    private final PurchaseBillRepository purchaseBillRepository;
+    private final SiteRepository siteRepository;
+    private final SupplierRepository supplierRepository;
+    private final MasterMaterialRepository masterMaterialRepository;
+    private final SpendRollupRecorder spendRollupRecorder;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public PurchaseBillImportServiceImpl(PurchaseBillRepository purchaseBillRepository,
+                                         SiteRepository siteRepository,
+                                         SupplierRepository supplierRepository,
+                                         MasterMaterialRepository masterMaterialRepository,
+                                         SpendRollupRecorder spendRollupRecorder,
+                                         ObjectMapper objectMapper,
+                                         EntityManager entityManager,
+                                         PlatformTransactionManager transactionManager) {
+        this.purchaseBillRepository = purchaseBillRepository;
+        this.siteRepository = siteRepository;
+        this.supplierRepository = supplierRepository;
+        this.masterMaterialRepository = masterMaterialRepository;
+        this.spendRollupRecorder = spendRollupRecorder;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public BillImportResultDTO importBills(InputStream inputStream, BillImportFormat format) {
+        BillImportResultDTO result = new BillImportResultDTO();
+        ReferenceLookups lookups = readOnlyTransaction.execute(status -> loadLookups());
+
+        try (BillImportRowReader reader = openReader(inputStream, format)) {
+            List<PendingBill> chunk = new ArrayList<>();
+            int chunkLines = 0;
+            PendingBill current = null;
+
+            BillImportRow row;
+            while ((row = reader.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                boolean malformed = row.getParseError() != null;
+
+                // A malformed row without a readable bill number still belongs to the bill it sits in
+                BillKey key = malformed && row.getBillNumber() == null ? null : new BillKey(row);
+                if (key != null && (current == null || !current.key.equals(key))) {
+                    if (current != null && complete(current, result)) {
+                        chunk.add(current);
+                        chunkLines += current.lines.size();
+                        if (chunkLines >= CHUNK_LINES) {
+                            persistChunk(chunk, result);
+                            chunk.clear();
+                            chunkLines = 0;
+                        }
+                    }
+                    current = startBill(key, row, lookups, result);
+                }
+                if (malformed) {
+                    // Rejects the whole bill, so none of its other lines are saved as a partial bill
+                    if (current != null) {
+                        rejectRow(current, row, row.getParseError(), result);
+                    } else {
+                        addError(result, row.getRowNumber(), null, row.getParseError());
+                    }
+                    continue;
+                }
+                addLine(current, row, lookups, result);
+            }
+
+            if (current != null && complete(current, result)) {
+                chunk.add(current);
+            }
+            if (!chunk.isEmpty()) {
+                persistChunk(chunk, result);
+            }
+        } catch (IOException e) {
+            // Chunks committed before the failure stay imported; the counts in the message say how far it got
+            throw new InvalidDataException("Could not read the import upload after " + result.getRowsRead()
+                    + " rows (" + result.getBillsImported() + " bills imported): " + e.getMessage());
+        }
+        return result;
+    }
+
+    private BillImportRowReader openReader(InputStream inputStream, BillImportFormat format) throws IOException {
+        if (format == BillImportFormat.CSV) {
+            return new CsvBillImportRowReader(inputStream);
+        }
+        return new NdjsonBillImportRowReader(inputStream, objectMapper);
+    }
+
+    /**
+     * Builds name/code to ID maps once per import, so rows are resolved in memory instead of with a query per row.
+     * All associations of these entities are lazy, so each findAll is a single query.
+     */
+    private ReferenceLookups loadLookups() {
+        ReferenceLookups lookups = new ReferenceLookups();
+        for (Site site : siteRepository.findAll()) {
+            lookups.siteIdsByName.merge(normalise(site.getName()), site.getId(), (a, b) -> AMBIGUOUS);
+        }
+        for (Supplier supplier : supplierRepository.findAll()) {
+            lookups.supplierIdsByName.put(normalise(supplier.getName()), supplier.getId()); // Names are unique
+        }
+        for (MasterMaterial material : masterMaterialRepository.findAll()) {
+            if (material.getMaterialCode() != null) {
+                lookups.materialIdsByCode.put(normalise(material.getMaterialCode()), material.getId());
+            }
+            lookups.materialIdsByName.merge(normalise(material.getName()), material.getId(), (a, b) -> AMBIGUOUS);
+        }
+        return lookups;
+    }
+
+    private PendingBill startBill(BillKey key, BillImportRow row, ReferenceLookups lookups, BillImportResultDTO result) {
+        PendingBill bill = new PendingBill(key);
+        bill.firstRowNumber = row.getRowNumber();
+        if (key.billNumber == null) {
+            rejectRow(bill, row, "billNumber is required.", result);
+        }
+        if (key.billDate == null) {
+            rejectRow(bill, row, "billDate is required.", result);
+        } else {
+            try {
+                bill.billDate = LocalDate.parse(key.billDate);
+            } catch (DateTimeParseException e) {
+                rejectRow(bill, row, "billDate '" + key.billDate + "' is not an ISO date (yyyy-MM-dd).", result);
+            }
+        }
+        bill.siteId = resolve(lookups.siteIdsByName, key.siteName, "Site", "siteName", bill, row, result);
+        bill.supplierId = resolve(lookups.supplierIdsByName, key.supplierName, "Supplier", "supplierName", bill, row, result);
+        return bill;
+    }
+
+    private void addLine(PendingBill bill, BillImportRow row, ReferenceLookups lookups, BillImportResultDTO result) {
+        PendingLine line = new PendingLine();
+        boolean valid = true;
+
+        if (row.getMaterialCode() != null) {
+            line.masterMaterialId = lookups.materialIdsByCode.get(normalise(row.getMaterialCode()));
+            if (line.masterMaterialId == null) {
+                valid = rejectRow(bill, row, "MasterMaterial not found with code: " + row.getMaterialCode(), result);
+            }
+        } else {
+            line.masterMaterialId = resolve(lookups.materialIdsByName, row.getMaterialName(), "MasterMaterial",
+                    "materialCode or materialName", bill, row, result);
+            valid = line.masterMaterialId != null;
+        }
+
+        line.quantity = parseDecimal(row.getQuantity(), "quantity", bill, row, result);
+        if (line.quantity == null) {
+            valid = false;
+        } else if (line.quantity.signum() <= 0) {
+            valid = rejectRow(bill, row, "quantity must be greater than zero.", result);
+        }
+
+        line.unitPrice = parseDecimal(row.getUnitPrice(), "unitPrice", bill, row, result);
+        if (line.unitPrice == null) {
+            valid = false;
+        } else if (line.unitPrice.signum() < 0) {
+            valid = rejectRow(bill, row, "unitPrice cannot be negative.", result);
+        }
+
+        if (row.getUnit() == null) {
+            valid = rejectRow(bill, row, "unit is required.", result);
+        } else if (row.getUnit().length() > 20) {
+            valid = rejectRow(bill, row, "unit cannot exceed 20 characters.", result);
+        }
+        line.unit = row.getUnit();
+
+        if (valid) {
+            bill.lines.add(line);
+        }
+    }
+
+    // A bill is persisted only if none of its rows were rejected
+    private boolean complete(PendingBill bill, BillImportResultDTO result) {
+        if (bill.rejected) {
+            result.setBillsRejected(result.getBillsRejected() + 1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Persists one chunk of bills in its own transaction. Sites, suppliers and materials are attached as
+     * references (no SELECT), and bills and items get pooled sequence IDs, so the chunk is written as batched INSERTs.
+     * If the chunk fails, its bills are retried one transaction each, so only the bills that fail on their own
+     * (e.g. on a unique key) are reported, and the import carries on with the next chunk.
+     */
+    private void persistChunk(List<PendingBill> chunk, BillImportResultDTO result) {
+        try {
+            save(chunk);
+            for (PendingBill pending : chunk) {
+                result.setBillsImported(result.getBillsImported() + 1);
+                result.setItemsImported(result.getItemsImported() + pending.lines.size());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.size() > 1) {
+                for (PendingBill pending : chunk) {
+                    persistChunk(List.of(pending), result);
+                }
+                return;
+            }
+            PendingBill pending = chunk.get(0);
+            addError(result, pending.firstRowNumber, pending.key.billNumber,
+                    "Bill could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            result.setBillsRejected(result.getBillsRejected() + 1);
+        }
+    }
+
+    private void save(List<PendingBill> bills) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                SpendRollupRecorder.Batch rollups = spendRollupRecorder.batch();
+                for (PendingBill pending : bills) {
+                    PurchaseBill bill = purchaseBillRepository.save(toEntity(pending));
+                    rollups.add(spendRollupRecorder.contributionOf(bill));
+                }
+                rollups.flush(); // One upsert per site/supplier/month in the chunk
+            });
+        } finally {
+            // With open-in-view the request keeps one persistence context across chunks; detach the saved bills so
+            // it does not grow (and get dirty-checked) with the size of the upload
+            entityManager.clear();
+        }
+    }
+
+    private PurchaseBill toEntity(PendingBill pending) {
+        PurchaseBill bill = new PurchaseBill();
+        bill.setBillNumber(pending.key.billNumber);
+        bill.setBillDate(pending.billDate);
+        bill.setSite(siteRepository.getReferenceById(pending.siteId));
+        bill.setSupplier(supplierRepository.getReferenceById(pending.supplierId));
+        bill.setOverallGrnStatus(OverallGrnStatus.PENDING);
+
+        List<BillItem> items = new ArrayList<>(pending.lines.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (PendingLine line : pending.lines) {
+            BillItem item = new BillItem();
+            item.setPurchaseBill(bill);
+            item.setMasterMaterial(masterMaterialRepository.getReferenceById(line.masterMaterialId));
+            item.setQuantity(line.quantity);
+            item.setUnit(line.unit);
+            item.setUnitPrice(line.unitPrice);
+            BigDecimal itemTotal = line.quantity.multiply(line.unitPrice);
+            item.setItemTotalPrice(itemTotal);
+            totalAmount = totalAmount.add(itemTotal);
+            items.add(item);
+        }
+        bill.setBillItems(items);
+        bill.setTotalAmount(totalAmount);
+        bill.setTotalItemCount(items.size());
+        bill.setReceivedItemCount(0);
+        return bill;
+    }
+
+    private Long resolve(Map<String, Long> idsByName, String name, String entityName, String column,
+                         PendingBill bill, BillImportRow row, BillImportResultDTO result) {
+        if (name == null) {
+            rejectRow(bill, row, column + " is required.", result);
+            return null;
+        }
+        Long id = idsByName.get(normalise(name));
+        if (id == null) {
+            rejectRow(bill, row, entityName + " not found with name: " + name, result);
+            return null;
+        }
+        if (AMBIGUOUS.equals(id)) {
+            rejectRow(bill, row, "More than one " + entityName + " is named '" + name + "'.", result);
+            return null;
+        }
+        return id;
+    }
+
+    private BigDecimal parseDecimal(String value, String column, PendingBill bill, BillImportRow row,
+                                    BillImportResultDTO result) {
+        if (value == null) {
+            rejectRow(bill, row, column + " is required.", result);
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            rejectRow(bill, row, column + " '" + value + "' is not a number.", result);
+            return null;
+        }
+    }
+
+    // Always returns false so callers can write "valid = rejectRow(...)"
+    private boolean rejectRow(PendingBill bill, BillImportRow row, String message, BillImportResultDTO result) {
+        bill.rejected = true;
+        addError(result, row.getRowNumber(), row.getBillNumber(), message);
+        return false;
+    }
+
+    private static void addError(BillImportResultDTO result, long rowNumber, String billNumber, String message) {
+        result.setErrorCount(result.getErrorCount() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportRowErrorDTO(rowNumber, billNumber, message));
+        }
+    }
+
+    private static String normalise(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ReferenceLookups {
+        private final Map<String, Long> siteIdsByName = new HashMap<>();
+        private final Map<String, Long> supplierIdsByName = new HashMap<>();
+        private final Map<String, Long> materialIdsByCode = new HashMap<>();
+        private final Map<String, Long> materialIdsByName = new HashMap<>();
+    }
+
+    // Rows belong to the same bill while these header values repeat on consecutive rows
+    private static final class BillKey {
+        private final String billNumber;
+        private final String billDate;
+        private final String siteName;
+        private final String supplierName;
+
+        private BillKey(BillImportRow row) {
+            this.billNumber = row.getBillNumber();
+            this.billDate = row.getBillDate();
+            this.siteName = row.getSiteName();
+            this.supplierName = row.getSupplierName();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BillKey)) return false;
+            BillKey other = (BillKey) o;
+            return Objects.equals(billNumber, other.billNumber)
+                    && Objects.equals(billDate, other.billDate)
+                    && Objects.equals(siteName, other.siteName)
+                    && Objects.equals(supplierName, other.supplierName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(billNumber, billDate, siteName, supplierName);
+        }
+    }
+
+    private static final class PendingBill {
+        private final BillKey key;
+        private final List<PendingLine> lines = new ArrayList<>();
+        private long firstRowNumber;
+        private LocalDate billDate;
+        private Long siteId;
+        private Long supplierId;
+        private boolean rejected;
+
+        private PendingBill(BillKey key) {
+            this.key = key;
+        }
+    }
+
+    private static final class PendingLine {
+        private Long masterMaterialId;
+        private BigDecimal quantity;
+        private String unit;
+        private BigDecimal unitPrice;
+    }
+}
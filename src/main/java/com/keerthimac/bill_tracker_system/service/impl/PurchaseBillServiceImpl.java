@@ -1,28 +1,57 @@
 package com.keerthimac.bill_tracker_system.service.impl;
 
+import com.keerthimac.bill_tracker_system.dto.BillGrnStatusDTO;
 import com.keerthimac.bill_tracker_system.dto.BillItemRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.BillItemResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkGrnUpdateRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.CursorPageDTO;
+import com.keerthimac.bill_tracker_system.dto.GrnItemUpdateDTO;
+import com.keerthimac.bill_tracker_system.dto.GrnItemUpdateResponseDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillSummaryDTO;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
 import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.mapper.BillItemMapper; // Used for mapping to response, not directly for entity creation from DTO here
 import com.keerthimac.bill_tracker_system.mapper.PurchaseBillMapper;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.reporting.SpendRollupRecorder;
 import com.keerthimac.bill_tracker_system.entity.*; // Site, Supplier, PurchaseBill, BillItem, OverallGrnStatus, MasterMaterial
 import com.keerthimac.bill_tracker_system.repository.*; // All relevant repositories
+import com.keerthimac.bill_tracker_system.service.BillArchiveService;
 import com.keerthimac.bill_tracker_system.service.PurchaseBillService;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class PurchaseBillServiceImpl implements PurchaseBillService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final PurchaseBillRepository purchaseBillRepository;
     private final BillItemRepository billItemRepository; // Still needed for GRN updates on items
     private final SiteRepository siteRepository;
@@ -32,6 +61,8 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
 
     private final PurchaseBillMapper purchaseBillMapper;
     private final BillItemMapper billItemMapper; // Used for mapping existing BillItems to DTOs
+    private final SpendRollupRecorder spendRollupRecorder;
+    private final BillArchiveService billArchiveService;
 
     @Autowired
     public PurchaseBillServiceImpl(PurchaseBillRepository purchaseBillRepository,
@@ -40,7 +71,9 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
                                    SupplierRepository supplierRepository,
                                    MasterMaterialRepository masterMaterialRepository, // <<< INJECT
                                    PurchaseBillMapper purchaseBillMapper,
-                                   BillItemMapper billItemMapper) {
+                                   BillItemMapper billItemMapper,
+                                   SpendRollupRecorder spendRollupRecorder,
+                                   BillArchiveService billArchiveService) {
         this.purchaseBillRepository = purchaseBillRepository;
         this.billItemRepository = billItemRepository;
         this.siteRepository = siteRepository;
@@ -48,6 +81,8 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
         this.masterMaterialRepository = masterMaterialRepository; // <<< INITIALIZE
         this.purchaseBillMapper = purchaseBillMapper;
         this.billItemMapper = billItemMapper;
+        this.spendRollupRecorder = spendRollupRecorder;
+        this.billArchiveService = billArchiveService;
     }
 
     @Override
@@ -69,11 +104,11 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
         BigDecimal totalBillAmount = BigDecimal.ZERO;
 
         if (billRequestDTO.getItems() != null && !billRequestDTO.getItems().isEmpty()) {
+            // Resolve every referenced MasterMaterial in one query instead of one findById per line
+            Map<Long, MasterMaterial> masterMaterialsById = resolveMasterMaterials(billRequestDTO.getItems());
+
             for (BillItemRequestDTO itemDTO : billRequestDTO.getItems()) {
-                MasterMaterial masterMaterial = masterMaterialRepository.findById(itemDTO.getMasterMaterialId())
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                "MasterMaterial not found with id: " + itemDTO.getMasterMaterialId() +
-                                        " for item with quantity " + itemDTO.getQuantity())); // Add more context to error
+                MasterMaterial masterMaterial = masterMaterialsById.get(itemDTO.getMasterMaterialId());
 
                 BillItem billItemEntity = new BillItem(); // Manually creating entity
                 // Or use billItemMapper.toEntity(itemDTO) if you want to map quantity, unit, unitPrice via mapper
@@ -102,22 +137,160 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
         }
         purchaseBill.setBillItems(billItemsEntities);
         purchaseBill.setTotalAmount(totalBillAmount);
+        purchaseBill.setTotalItemCount(billItemsEntities.size());
+        purchaseBill.setReceivedItemCount(0);
 
         PurchaseBill savedBill = purchaseBillRepository.save(purchaseBill);
+        spendRollupRecorder.add(spendRollupRecorder.contributionOf(savedBill));
         return purchaseBillMapper.toDto(savedBill);
     }
 
+    /**
+     * Loads all MasterMaterials referenced by the given bill items with a single findAllById call.
+     * @param items The bill item request DTOs.
+     * @return A map of MasterMaterial ID to MasterMaterial entity.
+     * @throws ResourceNotFoundException listing every referenced ID that does not exist.
+     */
+    private Map<Long, MasterMaterial> resolveMasterMaterials(List<BillItemRequestDTO> items) {
+        Set<Long> requestedIds = items.stream()
+                .map(BillItemRequestDTO::getMasterMaterialId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, MasterMaterial> masterMaterialsById = new HashMap<>();
+        for (MasterMaterial masterMaterial : masterMaterialRepository.findAllById(requestedIds)) {
+            masterMaterialsById.put(masterMaterial.getId(), masterMaterial);
+        }
+
+        if (masterMaterialsById.size() < requestedIds.size()) {
+            List<Long> missingIds = requestedIds.stream()
+                    .filter(id -> !masterMaterialsById.containsKey(id))
+                    .collect(Collectors.toList());
+            throw new ResourceNotFoundException("MasterMaterial not found with ids: " + missingIds);
+        }
+        return masterMaterialsById;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<PurchaseBillResponseDTO> getPurchaseBillById(Long id) {
-        return purchaseBillRepository.findById(id)
-                .map(purchaseBillMapper::toDto);
+        // Closed bills may have been moved to the archive; they are served from there unchanged
+        return purchaseBillRepository.findWithDetailsById(id)
+                .map(purchaseBillMapper::toDto)
+                .or(() -> billArchiveService.findArchivedBill(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PurchaseBillResponseDTO> getAllPurchaseBills() {
-        return purchaseBillMapper.toDtoList(purchaseBillRepository.findAll());
+        return purchaseBillMapper.toDtoList(purchaseBillRepository.findAllWithDetails());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PurchaseBillResponseDTO> getPurchaseBillsPage(Long siteId, LocalDate startDate, LocalDate endDate,
+                                                                      String cursor, Integer size) {
+        if (siteId != null && !siteRepository.existsById(siteId)) {
+            throw new ResourceNotFoundException("Site not found with id: " + siteId);
+        }
+        int pageSize = resolvePageSize(size);
+        KeysetPosition position = KeysetPosition.decode(cursor);
+
+        // Fetch one extra id to learn whether another page exists without a COUNT query
+        List<Long> pageIds = purchaseBillRepository.findPageIdsAfterCursor(
+                siteId, startDate, endDate, position.billDate, position.id, Pageable.ofSize(pageSize + 1));
+        boolean hasMore = pageIds.size() > pageSize;
+        if (hasMore) {
+            pageIds = pageIds.subList(0, pageSize);
+        }
+
+        // Second (and last) query loads the page with its full graph; restore the keyset order afterwards
+        Map<Long, PurchaseBill> billsById = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            for (PurchaseBill bill : purchaseBillRepository.findAllWithDetailsByIdIn(pageIds)) {
+                billsById.put(bill.getId(), bill);
+            }
+        }
+        List<PurchaseBill> bills = pageIds.stream()
+                .map(billsById::get)
+                .filter(Objects::nonNull) // A bill deleted between the two queries is simply skipped
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore && !bills.isEmpty()) {
+            PurchaseBill last = bills.get(bills.size() - 1);
+            nextCursor = KeysetPosition.encode(last.getBillDate(), last.getId());
+        }
+        return new CursorPageDTO<>(purchaseBillMapper.toDtoList(bills), pageSize, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PurchaseBillSummaryDTO> getPurchaseBillSummariesPage(Long siteId, LocalDate startDate, LocalDate endDate,
+                                                                              String cursor, Integer size) {
+        if (siteId != null && !siteRepository.existsById(siteId)) {
+            throw new ResourceNotFoundException("Site not found with id: " + siteId);
+        }
+        int pageSize = resolvePageSize(size);
+        KeysetPosition position = KeysetPosition.decode(cursor);
+
+        List<PurchaseBillSummaryDTO> summaries = purchaseBillRepository.findSummaryPageAfterCursor(
+                siteId, startDate, endDate, position.billDate, position.id, Pageable.ofSize(pageSize + 1));
+
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            PurchaseBillSummaryDTO last = summaries.get(pageSize - 1);
+            nextCursor = KeysetPosition.encode(last.getBillDate(), last.getId());
+        }
+        return new CursorPageDTO<>(summaries, pageSize, nextCursor);
+    }
+
+    private static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidDataException("Page size must be at least 1.");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Position of the last row of a keyset page, i.e. (billDate, id).
+     * The cursor token handed to clients is the URL-safe Base64 of "billDate:id".
+     */
+    private static final class KeysetPosition {
+        // Start-of-listing position: sorts after every real bill (MySQL DATE tops out at 9999-12-31)
+        private static final KeysetPosition START = new KeysetPosition(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+        private final LocalDate billDate;
+        private final Long id;
+
+        private KeysetPosition(LocalDate billDate, Long id) {
+            this.billDate = billDate;
+            this.id = id;
+        }
+
+        static String encode(LocalDate billDate, Long id) {
+            String position = billDate + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static KeysetPosition decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return START;
+            }
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = position.split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Unexpected cursor format");
+                }
+                return new KeysetPosition(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidDataException("Invalid page cursor: " + cursor);
+            }
+        }
     }
 
     @Override
@@ -147,10 +320,12 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
     @Override
     @Transactional
     public PurchaseBillResponseDTO updatePurchaseBillDetails(Long billId, PurchaseBillRequestDTO billRequestDTO) {
-        PurchaseBill bill = purchaseBillRepository.findById(billId)
+        PurchaseBill bill = purchaseBillRepository.findForUpdateById(billId)
                 .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
+        SpendRollupRecorder.Contribution rollupBefore = spendRollupRecorder.contributionOf(bill); // Date, site or supplier may move
 
         // Update header fields
+        boolean billDateChanged = !Objects.equals(bill.getBillDate(), billRequestDTO.getBillDate());
         bill.setBillNumber(billRequestDTO.getBillNumber());
         bill.setBillDate(billRequestDTO.getBillDate());
 
@@ -196,50 +371,173 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
         */
 
         PurchaseBill updatedBill = purchaseBillRepository.save(bill);
+        if (billDateChanged) {
+            // Items are not loaded yet, so the mapper below reads them with the new date
+            billItemRepository.updateBillDate(billId, updatedBill.getBillDate());
+        }
+        spendRollupRecorder.replace(rollupBefore, spendRollupRecorder.contributionOf(updatedBill));
         return purchaseBillMapper.toDto(updatedBill);
     }
 
     @Override
     @Transactional
     public PurchaseBillResponseDTO updateGrnReceivedForItem(Long billItemId, boolean received, String remarks) {
-        BillItem billItem = billItemRepository.findById(billItemId)
+        Long billId = applyGrnReceived(findBillItemForGrn(billItemId), received, remarks);
+
+        PurchaseBill bill = purchaseBillRepository.findWithDetailsById(billId)
+                .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
+        refreshOverallGrnStatus(bill);
+        return purchaseBillMapper.toDto(bill);
+    }
+
+    @Override
+    @Transactional
+    public GrnItemUpdateResponseDTO updateGrnReceivedForItemCompact(Long billItemId, boolean received, String remarks) {
+        BillItem billItem = findBillItemForGrn(billItemId);
+        Long billId = applyGrnReceived(billItem, received, remarks);
+        // Material and category were fetched with the item, so mapping needs no further queries
+        BillItemResponseDTO itemDTO = billItemMapper.toResponseDto(billItem);
+
+        PurchaseBill bill = purchaseBillRepository.findById(billId)
+                .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
+        refreshOverallGrnStatus(bill);
+        return new GrnItemUpdateResponseDTO(itemDTO, toGrnStatusDto(bill));
+    }
+
+    @Override
+    @Transactional
+    public List<BillGrnStatusDTO> updateGrnReceivedForItems(BulkGrnUpdateRequestDTO requestDTO) {
+        Set<Long> billItemIds = new LinkedHashSet<>();
+        for (GrnItemUpdateDTO update : requestDTO.getItems()) {
+            if (!billItemIds.add(update.getBillItemId())) {
+                throw new InvalidDataException("BillItem " + update.getBillItemId() + " appears more than once in the request.");
+            }
+        }
+
+        Map<Long, BillItem> billItemsById = new HashMap<>();
+        for (BillItem billItem : billItemRepository.findAllById(billItemIds)) {
+            billItemsById.put(billItem.getId(), billItem);
+        }
+        if (billItemsById.size() < billItemIds.size()) {
+            List<Long> missingIds = billItemIds.stream()
+                    .filter(id -> !billItemsById.containsKey(id))
+                    .collect(Collectors.toList());
+            throw new ResourceNotFoundException("BillItem not found with ids: " + missingIds);
+        }
+
+        // Received-count delta per bill, in the order bills first appear in the request
+        Map<Long, Integer> deltasByBillId = new LinkedHashMap<>();
+        for (GrnItemUpdateDTO update : requestDTO.getItems()) {
+            BillItem billItem = billItemsById.get(update.getBillItemId());
+            boolean received = update.getReceived();
+            int delta = 0;
+            if (billItem.isGrnReceivedForItem() != received) {
+                delta = received ? 1 : -1;
+            }
+            billItem.setGrnReceivedForItem(received);
+            if (update.getRemarks() != null) {
+                billItem.setRemarks(update.getRemarks());
+            }
+            deltasByBillId.merge(billItem.getPurchaseBill().getId(), delta, Integer::sum);
+        }
+
+        // The item changes are flushed as one JDBC batch (hibernate.jdbc.batch_size) before the first counter update
+        billItemRepository.flush();
+        deltasByBillId.forEach((billId, delta) -> {
+            if (delta != 0) {
+                purchaseBillRepository.adjustReceivedItemCount(billId, delta);
+            }
+        });
+
+        // One query for all affected bills, then one status derivation per bill
+        Map<Long, PurchaseBill> billsById = new HashMap<>();
+        for (PurchaseBill bill : purchaseBillRepository.findAllById(deltasByBillId.keySet())) {
+            billsById.put(bill.getId(), bill);
+        }
+        List<BillGrnStatusDTO> results = new ArrayList<>(deltasByBillId.size());
+        SpendRollupRecorder.Batch rollups = spendRollupRecorder.batch();
+        for (Long billId : deltasByBillId.keySet()) {
+            PurchaseBill bill = billsById.get(billId);
+            refreshOverallGrnStatus(bill, rollups);
+            results.add(toGrnStatusDto(bill));
+        }
+        rollups.flush();
+        return results;
+    }
+
+    private BillItem findBillItemForGrn(Long billItemId) {
+        return billItemRepository.findWithMaterialById(billItemId)
                 .orElseThrow(() -> new ResourceNotFoundException("BillItem not found with id: " + billItemId));
+    }
 
+    /**
+     * Applies a GRN tick to one item and moves the parent bill's received counter by the resulting delta.
+     * The bill itself is not loaded here; callers re-read it (in whatever shape they need) after this returns,
+     * because the counter update clears the persistence context.
+     * @return The ID of the item's PurchaseBill.
+     */
+    private Long applyGrnReceived(BillItem billItem, boolean received, String remarks) {
+        int delta = 0;
+        if (billItem.isGrnReceivedForItem() != received) {
+            delta = received ? 1 : -1;
+        }
         billItem.setGrnReceivedForItem(received);
         if (remarks != null) {
             billItem.setRemarks(remarks);
         }
-        // BillItem is saved implicitly by saving its parent PurchaseBill if cascade type is appropriate,
-        // or explicitly save BillItem then its parent (PurchaseBill) to trigger overall status update.
-        // The current purchaseBillService.updateOverallBillGrnStatus in backend already saves the purchaseBill.
-        // So, directly saving billItem might be redundant if the parent is saved after.
-        // For clarity, let's save the billItem and then ensure the parent bill is re-evaluated.
-        billItemRepository.save(billItem); // Make sure this save cascades to PurchaseBill's updatedAt for example
-
-        // After updating an item, recalculate and save the overall GRN status for the parent bill
-        return updateOverallBillGrnStatus(billItem.getPurchaseBill().getId());
+
+        Long billId = billItem.getPurchaseBill().getId(); // Proxy id, no query
+        if (delta != 0) {
+            purchaseBillRepository.adjustReceivedItemCount(billId, delta); // Flushes the item change first
+        } else {
+            billItemRepository.save(billItem); // Remarks-only change
+        }
+        return billId;
+    }
+
+    private void refreshOverallGrnStatus(PurchaseBill bill) {
+        SpendRollupRecorder.Batch rollups = spendRollupRecorder.batch();
+        refreshOverallGrnStatus(bill, rollups);
+        rollups.flush();
+    }
+
+    // Derives the status from the counters (written by dirty checking at commit) and queues the pending-GRN rollup change
+    private void refreshOverallGrnStatus(PurchaseBill bill, SpendRollupRecorder.Batch rollups) {
+        SpendRollupRecorder.Contribution before = spendRollupRecorder.contributionOf(bill);
+        bill.setOverallGrnStatus(deriveOverallGrnStatus(bill.getReceivedItemCount(), bill.getTotalItemCount()));
+        rollups.replace(before, spendRollupRecorder.contributionOf(bill));
+    }
+
+    private static OverallGrnStatus deriveOverallGrnStatus(long receivedItems, long totalItems) {
+        if (totalItems == 0 || receivedItems <= 0) {
+            return OverallGrnStatus.PENDING;
+        } else if (receivedItems < totalItems) {
+            return OverallGrnStatus.PARTIALLY_RECEIVED;
+        } else { // receivedItems == totalItems
+            return OverallGrnStatus.FULLY_RECEIVED;
+        }
+    }
+
+    private static BillGrnStatusDTO toGrnStatusDto(PurchaseBill bill) {
+        return new BillGrnStatusDTO(bill.getId(), bill.getOverallGrnStatus().name(),
+                bill.getReceivedItemCount(), bill.getTotalItemCount());
     }
 
     @Override
     @Transactional
     public PurchaseBillResponseDTO updateOverallBillGrnStatus(Long billId) {
-        PurchaseBill bill = purchaseBillRepository.findByIdWithItems(billId) // Assuming a method that fetches items eagerly
+        // Locked before the items are read, so no GRN tick can land between the recount and the commit;
+        // the second query returns the same (locked) instance with its items and their details fetched
+        purchaseBillRepository.findForUpdateById(billId)
                 .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
+        PurchaseBill bill = purchaseBillRepository.findWithDetailsById(billId).orElseThrow();
+
+        // Full recount from the items: repairs counters for bills created before they existed or edited outside the service
+        List<BillItem> billItems = bill.getBillItems() == null ? List.of() : bill.getBillItems();
+        bill.setTotalItemCount(billItems.size());
+        bill.setReceivedItemCount((int) billItems.stream().filter(BillItem::isGrnReceivedForItem).count());
+        refreshOverallGrnStatus(bill);
 
-        if (bill.getBillItems() == null || bill.getBillItems().isEmpty()) {
-            bill.setOverallGrnStatus(OverallGrnStatus.PENDING);
-        } else {
-            long totalItems = bill.getBillItems().size();
-            long receivedItems = bill.getBillItems().stream().filter(BillItem::isGrnReceivedForItem).count();
-
-            if (receivedItems == 0) {
-                bill.setOverallGrnStatus(OverallGrnStatus.PENDING);
-            } else if (receivedItems < totalItems) {
-                bill.setOverallGrnStatus(OverallGrnStatus.PARTIALLY_RECEIVED);
-            } else { // receivedItems == totalItems
-                bill.setOverallGrnStatus(OverallGrnStatus.FULLY_RECEIVED);
-            }
-        }
         PurchaseBill updatedBill = purchaseBillRepository.save(bill);
         return purchaseBillMapper.toDto(updatedBill);
     }
@@ -247,7 +545,7 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
     @Override
     @Transactional
     public PurchaseBillResponseDTO updateGrnHardcopyStatus(Long billId, boolean receivedByPurchaser, boolean handedToAccountant) {
-        PurchaseBill bill = purchaseBillRepository.findById(billId)
+        PurchaseBill bill = purchaseBillRepository.findForUpdateById(billId)
                 .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
 
         bill.setGrnHardcopyReceivedByPurchaser(receivedByPurchaser);
@@ -260,7 +558,7 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
     @Override
     @Transactional
     public PurchaseBillResponseDTO updateBillImagePath(Long billId, String imagePath) {
-        PurchaseBill bill = purchaseBillRepository.findById(billId)
+        PurchaseBill bill = purchaseBillRepository.findForUpdateById(billId)
                 .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + billId));
         bill.setBillImagePath(imagePath);
         PurchaseBill updatedBill = purchaseBillRepository.save(bill);
@@ -270,9 +568,9 @@ public class PurchaseBillServiceImpl implements PurchaseBillService {
     @Override
     @Transactional
     public void deletePurchaseBill(Long id) {
-        if (!purchaseBillRepository.existsById(id)) {
-            throw new ResourceNotFoundException("PurchaseBill not found with id: " + id + ". Cannot delete.");
-        }
-        purchaseBillRepository.deleteById(id);
+        PurchaseBill bill = purchaseBillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("PurchaseBill not found with id: " + id + ". Cannot delete."));
+        spendRollupRecorder.remove(spendRollupRecorder.contributionOf(bill));
+        purchaseBillRepository.delete(bill);
     }
 }
\ No newline at end of file
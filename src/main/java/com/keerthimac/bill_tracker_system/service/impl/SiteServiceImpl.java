@@ -5,9 +5,12 @@ import com.keerthimac.bill_tracker_system.entity.Site; // Your entity
 import com.keerthimac.bill_tracker_system.exception.DuplicateResourceException; // Your custom exception
 import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException; // Your custom exception
 import com.keerthimac.bill_tracker_system.mapper.SiteMapper; // Your mapper
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.SiteRepository; // Your repository
 import com.keerthimac.bill_tracker_system.service.SiteService;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service; // <<<< THIS IS THE CRUCIAL ANNOTATION
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +19,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Service // <<<< ENSURE THIS @Service ANNOTATION IS PRESENT
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class SiteServiceImpl implements SiteService {
 
     private final SiteRepository siteRepository;
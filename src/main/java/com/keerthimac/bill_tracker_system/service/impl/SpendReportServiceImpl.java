@@ -0,0 +1,103 @@
+package com.keerthimac.bill_tracker_system.service.impl;
+
+import com.keerthimac.bill_tracker_system.dto.SpendRollupDTO;
+import com.keerthimac.bill_tracker_system.entity.SpendRollup;
+import com.keerthimac.bill_tracker_system.exception.InvalidDataException;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import com.keerthimac.bill_tracker_system.repository.SpendRollupRepository;
+import com.keerthimac.bill_tracker_system.service.SpendReportService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
+public class SpendReportServiceImpl implements SpendReportService {
+
+    static final String GROUP_BY_SITE_SUPPLIER = "site-supplier";
+    static final String GROUP_BY_SITE = "site";
+    static final String GROUP_BY_SUPPLIER = "supplier";
+
+    private final SpendRollupRepository spendRollupRepository;
+
+    @Autowired
+    public SpendReportServiceImpl(SpendRollupRepository spendRollupRepository) {
+        this.spendRollupRepository = spendRollupRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpendRollupDTO> getSpend(String groupBy, Long siteId, Long supplierId, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth != null && toMonth != null && fromMonth.isAfter(toMonth)) {
+            throw new InvalidDataException("fromMonth cannot be after toMonth.");
+        }
+        boolean keepSite;
+        boolean keepSupplier;
+        if (groupBy == null || GROUP_BY_SITE_SUPPLIER.equalsIgnoreCase(groupBy)) {
+            keepSite = true;
+            keepSupplier = true;
+        } else if (GROUP_BY_SITE.equalsIgnoreCase(groupBy)) {
+            keepSite = true;
+            keepSupplier = false;
+        } else if (GROUP_BY_SUPPLIER.equalsIgnoreCase(groupBy)) {
+            keepSite = false;
+            keepSupplier = true;
+        } else {
+            throw new InvalidDataException("Unknown groupBy '" + groupBy + "'. Expected '" + GROUP_BY_SITE_SUPPLIER
+                    + "', '" + GROUP_BY_SITE + "' or '" + GROUP_BY_SUPPLIER + "'.");
+        }
+
+        List<SpendRollupDTO> rollups = spendRollupRepository.findRollups(siteId, supplierId,
+                fromMonth == null ? null : fromMonth.atDay(1),
+                toMonth == null ? null : toMonth.atDay(1));
+        for (SpendRollupDTO rollup : rollups) {
+            if (Objects.equals(rollup.getSupplierId(), SpendRollup.NO_SUPPLIER)) {
+                rollup.setSupplierId(null);
+            }
+        }
+        if (keepSite && keepSupplier) {
+            return rollups;
+        }
+
+        // Coarser groupings are summed from the rollup rows themselves (ordered by month), never from the bills
+        Map<List<Object>, SpendRollupDTO> grouped = new LinkedHashMap<>();
+        for (SpendRollupDTO rollup : rollups) {
+            Long groupSiteId = keepSite ? rollup.getSiteId() : null;
+            Long groupSupplierId = keepSupplier ? rollup.getSupplierId() : null;
+            List<Object> key = new ArrayList<>(3);
+            key.add(rollup.getMonth());
+            key.add(groupSiteId);
+            key.add(groupSupplierId);
+
+            SpendRollupDTO group = grouped.get(key);
+            if (group == null) {
+                group = new SpendRollupDTO(groupSiteId, keepSite ? rollup.getSiteName() : null,
+                        groupSupplierId, keepSupplier ? rollup.getSupplierName() : null,
+                        rollup.getMonth(), 0, BigDecimal.ZERO, 0);
+                grouped.put(key, group);
+            }
+            group.setBillCount(group.getBillCount() + rollup.getBillCount());
+            group.setTotalAmount(group.getTotalAmount().add(rollup.getTotalAmount()));
+            group.setPendingGrnCount(group.getPendingGrnCount() + rollup.getPendingGrnCount());
+        }
+        return new ArrayList<>(grouped.values());
+    }
+
+    @Override
+    @Transactional
+    public int rebuildRollups() {
+        spendRollupRepository.deleteAllRollups();
+        return spendRollupRepository.rebuildFromBills();
+    }
+}
@@ -1,5 +1,9 @@
 package com.keerthimac.bill_tracker_system.service.impl;
 
+import com.keerthimac.bill_tracker_system.cache.ActivePriceIndex;
+import com.keerthimac.bill_tracker_system.dto.ActivePriceResultDTO;
+import com.keerthimac.bill_tracker_system.dto.BulkActivePriceRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.MaterialUnitDTO;
 import com.keerthimac.bill_tracker_system.dto.PriceRevisionLogDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
@@ -8,17 +12,23 @@ import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.mapper.PriceRevisionLogMapper;
 import com.keerthimac.bill_tracker_system.mapper.SupplierMaterialPriceMapper;
 import com.keerthimac.bill_tracker_system.entity.*; // Supplier, MasterMaterial, SupplierMaterialPrice, PriceRevisionLog
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.*; // All needed repositories
 import com.keerthimac.bill_tracker_system.service.SupplierMaterialPriceService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceService {
 
     private final SupplierMaterialPriceRepository supplierMaterialPriceRepository;
@@ -27,6 +37,7 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
     private final PriceRevisionLogRepository priceRevisionLogRepository;
     private final SupplierMaterialPriceMapper supplierMaterialPriceMapper;
     private final PriceRevisionLogMapper priceRevisionLogMapper;
+    private final ActivePriceIndex activePriceIndex;
 
     @Autowired
     public SupplierMaterialPriceServiceImpl(
@@ -35,13 +46,15 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
             MasterMaterialRepository masterMaterialRepository,
             PriceRevisionLogRepository priceRevisionLogRepository,
             SupplierMaterialPriceMapper supplierMaterialPriceMapper,
-            PriceRevisionLogMapper priceRevisionLogMapper) {
+            PriceRevisionLogMapper priceRevisionLogMapper,
+            ActivePriceIndex activePriceIndex) {
         this.supplierMaterialPriceRepository = supplierMaterialPriceRepository;
         this.supplierRepository = supplierRepository;
         this.masterMaterialRepository = masterMaterialRepository;
         this.priceRevisionLogRepository = priceRevisionLogRepository;
         this.supplierMaterialPriceMapper = supplierMaterialPriceMapper;
         this.priceRevisionLogMapper = priceRevisionLogMapper;
+        this.activePriceIndex = activePriceIndex;
     }
 
     private void validateAndSetSupplierAndMaterial(SupplierMaterialPriceRequestDTO requestDTO, SupplierMaterialPrice entity) {
@@ -110,6 +123,7 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
 
         SupplierMaterialPrice savedPriceEntry = supplierMaterialPriceRepository.save(newPriceEntry);
         logPriceChange(savedPriceEntry, null, changedByUser, "Initial price setting.");
+        activePriceIndex.invalidate(requestDTO.getSupplierId(), requestDTO.getMasterMaterialId(), savedPriceEntry.getUnit());
 
         return supplierMaterialPriceMapper.toDto(savedPriceEntry);
     }
@@ -126,6 +140,7 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
         oldPriceDetailsSnapshot.setEffectiveFromDate(existingPriceEntry.getEffectiveFromDate());
         oldPriceDetailsSnapshot.setEffectiveToDate(existingPriceEntry.getEffectiveToDate());
         // Note: this snapshot doesn't have supplier/material, but logPriceChange uses the updated existingPriceEntry for those.
+        String oldUnit = existingPriceEntry.getUnit();
 
         checkForOverlappingPrices(requestDTO, priceId); // Exclude current entry from overlap check
 
@@ -149,6 +164,9 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
 
         SupplierMaterialPrice updatedPriceEntry = supplierMaterialPriceRepository.save(existingPriceEntry);
         logPriceChange(updatedPriceEntry, oldPriceDetailsSnapshot, changedByUser, "Price details updated.");
+        // The unit may have changed, so both the old and the new key lose their cached timeline
+        activePriceIndex.invalidate(requestDTO.getSupplierId(), requestDTO.getMasterMaterialId(), oldUnit);
+        activePriceIndex.invalidate(requestDTO.getSupplierId(), requestDTO.getMasterMaterialId(), updatedPriceEntry.getUnit());
 
         return supplierMaterialPriceMapper.toDto(updatedPriceEntry);
     }
@@ -185,11 +203,25 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // Deliberately not @Transactional: a cache hit must not borrow a connection. Misses load in their own transaction.
     public Optional<SupplierMaterialPriceResponseDTO> getActivePriceForSupplierMaterialUnit(
             Long supplierId, Long masterMaterialId, String unit, LocalDate date) {
-        return supplierMaterialPriceRepository.findActivePrice(supplierId, masterMaterialId, unit, date)
-                .map(supplierMaterialPriceMapper::toDto);
+        return activePriceIndex.findActivePrice(supplierId, masterMaterialId, unit, date);
+    }
+
+    @Override
+    // Not @Transactional for the same reason as getActivePriceForSupplierMaterialUnit
+    public List<ActivePriceResultDTO> getActivePrices(BulkActivePriceRequestDTO requestDTO) {
+        List<MaterialUnitDTO> items = requestDTO.getItems();
+        List<SupplierMaterialPriceResponseDTO> prices =
+                activePriceIndex.findActivePrices(requestDTO.getSupplierId(), items, requestDTO.getDate());
+
+        List<ActivePriceResultDTO> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            MaterialUnitDTO item = items.get(i);
+            results.add(new ActivePriceResultDTO(item.getMasterMaterialId(), item.getUnit(), prices.get(i)));
+        }
+        return results;
     }
 
     @Override
@@ -215,6 +247,8 @@ public class SupplierMaterialPriceServiceImpl implements SupplierMaterialPriceSe
         }
         SupplierMaterialPrice deactivatedPrice = supplierMaterialPriceRepository.save(priceEntry);
         logPriceChange(deactivatedPrice, oldDetailsSnapshot, changedByUser, "Price entry deactivated.");
+        activePriceIndex.invalidate(deactivatedPrice.getSupplier().getId(), deactivatedPrice.getMasterMaterial().getId(),
+                deactivatedPrice.getUnit());
     }
 
     @Override
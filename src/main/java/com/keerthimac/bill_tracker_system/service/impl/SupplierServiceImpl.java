@@ -1,13 +1,17 @@
 package com.keerthimac.bill_tracker_system.service.impl;
 
+import com.keerthimac.bill_tracker_system.cache.ActivePriceIndex;
 import com.keerthimac.bill_tracker_system.dto.SupplierRequestDTO;
 import com.keerthimac.bill_tracker_system.dto.SupplierResponseDTO;
 import com.keerthimac.bill_tracker_system.entity.Supplier;
 import com.keerthimac.bill_tracker_system.exception.DuplicateResourceException;
 import com.keerthimac.bill_tracker_system.exception.ResourceNotFoundException;
 import com.keerthimac.bill_tracker_system.mapper.SupplierMapper;
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
 import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
 import com.keerthimac.bill_tracker_system.service.SupplierService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +20,20 @@ import java.util.List;
 import java.util.Optional;
 
 @Service // Marks this as a Spring service component
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
+@Counted(ServiceMetrics.COUNTER)
 public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
     private final SupplierMapper supplierMapper;
+    private final ActivePriceIndex activePriceIndex;
 
     @Autowired
-    public SupplierServiceImpl(SupplierRepository supplierRepository, SupplierMapper supplierMapper) {
+    public SupplierServiceImpl(SupplierRepository supplierRepository, SupplierMapper supplierMapper,
+                               ActivePriceIndex activePriceIndex) {
         this.supplierRepository = supplierRepository;
         this.supplierMapper = supplierMapper;
+        this.activePriceIndex = activePriceIndex;
     }
 
     @Override
@@ -94,6 +103,7 @@ public class SupplierServiceImpl implements SupplierService {
         existingSupplier.setAddress(supplierRequestDTO.getAddress());
 
         Supplier updatedSupplier = supplierRepository.save(existingSupplier);
+        activePriceIndex.invalidateAll(); // Cached active prices embed supplier details
         return supplierMapper.toDto(updatedSupplier);
     }
 
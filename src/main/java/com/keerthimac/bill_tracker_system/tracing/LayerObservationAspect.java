@@ -0,0 +1,81 @@
+package com.keerthimac.bill_tracker_system.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+// Opens an observation (a span once tracing is on) around every controller, service, mapper and repository call,
+// so a slow request breaks down into its layers. The controller span closes before the response body is written:
+// the gap to the enclosing http.server.requests span is JSON serialisation. SQL statement spans come from
+// QueryObservationListener on the DataSource proxy.
+@Aspect
+@Component
+@ConditionalOnProperty(name = "bill-tracker.tracing.enabled", havingValue = "true")
+public class LayerObservationAspect {
+
+    public static final String OBSERVATION_NAME = "bill_tracker.layer";
+
+    private static final String LAYER_KEY = "layer";
+    private static final String MAPPER_LAYER = "mapper";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Autowired
+    public LayerObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("within(com.keerthimac.bill_tracker_system.controller..*) && execution(public * *(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(joinPoint, "controller", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("within(com.keerthimac.bill_tracker_system.service.impl..*) && execution(public * *(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(joinPoint, "service", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("within(com.keerthimac.bill_tracker_system.mapper..*) && execution(public * *(..))")
+    public Object observeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        // One span per top-level mapping; the nested per-item calls into other mappers would only add noise
+        Observation current = observationRegistry.getCurrentObservation();
+        KeyValue currentLayer = current == null ? null : current.getContext().getLowCardinalityKeyValue(LAYER_KEY);
+        if (currentLayer != null && MAPPER_LAYER.equals(currentLayer.getValue())) {
+            return joinPoint.proceed();
+        }
+        return observe(joinPoint, MAPPER_LAYER, ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Spring Data repositories are JDK proxies over SimpleJpaRepository; name the span after the interface
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return observe(joinPoint, "repository", interfaces.length > 0 ? interfaces[0] : joinPoint.getSignature().getDeclaringType());
+    }
+
+    private Object observe(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(type.getSimpleName() + "." + method)
+                .lowCardinalityKeyValue(LAYER_KEY, layer)
+                .lowCardinalityKeyValue("class", type.getSimpleName())
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
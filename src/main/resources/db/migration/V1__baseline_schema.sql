@@ -0,0 +1,145 @@
+-- Baseline schema: every table of the entity package, as Hibernate maps it (spring.jpa.hibernate.ddl-auto=validate
+-- checks the entities against it at startup). Query indexes are added separately in V2.
+
+CREATE TABLE sites (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    location VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE suppliers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    contact_person VARCHAR(255),
+    contact_number VARCHAR(255),
+    email VARCHAR(255),
+    address TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_suppliers_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE brands (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    brand_image_path VARCHAR(2048),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_brands_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE item_categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_item_categories_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE master_materials (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    material_code VARCHAR(50),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    default_unit VARCHAR(20) NOT NULL,
+    item_category_id BIGINT NOT NULL,
+    brand_id BIGINT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_master_materials_material_code UNIQUE (material_code),
+    CONSTRAINT fk_master_materials_item_category FOREIGN KEY (item_category_id) REFERENCES item_categories (id),
+    CONSTRAINT fk_master_materials_brand FOREIGN KEY (brand_id) REFERENCES brands (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE purchase_bills (
+    id BIGINT NOT NULL,
+    bill_number VARCHAR(255) NOT NULL,
+    bill_date DATE NOT NULL,
+    supplier_id BIGINT,
+    site_id BIGINT NOT NULL,
+    bill_image_path VARCHAR(255),
+    overall_grn_status ENUM ('PENDING', 'PARTIALLY_RECEIVED', 'FULLY_RECEIVED'),
+    total_item_count INTEGER NOT NULL,
+    received_item_count INTEGER NOT NULL,
+    grn_hardcopy_received_by_purchaser BIT NOT NULL,
+    grn_hardcopy_handed_to_accountant BIT NOT NULL,
+    total_amount DECIMAL(10, 2),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_purchase_bills_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id),
+    CONSTRAINT fk_purchase_bills_site FOREIGN KEY (site_id) REFERENCES sites (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bill_items (
+    id BIGINT NOT NULL,
+    purchase_bill_id BIGINT NOT NULL,
+    master_material_id BIGINT NOT NULL,
+    quantity DECIMAL(10, 3) NOT NULL,
+    unit VARCHAR(20) NOT NULL,
+    unit_price DECIMAL(19, 4) NOT NULL,
+    item_total_price DECIMAL(19, 4),
+    grn_received_for_item BIT NOT NULL,
+    remarks TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bill_items_purchase_bill FOREIGN KEY (purchase_bill_id) REFERENCES purchase_bills (id),
+    CONSTRAINT fk_bill_items_master_material FOREIGN KEY (master_material_id) REFERENCES master_materials (id)
+) ENGINE = InnoDB;
+
+-- Table-backed pooled sequences of PurchaseBill and BillItem (MySQL has no native sequences)
+CREATE TABLE purchase_bills_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO purchase_bills_seq VALUES (1);
+
+CREATE TABLE bill_items_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO bill_items_seq VALUES (1);
+
+CREATE TABLE supplier_material_prices (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    supplier_id BIGINT NOT NULL,
+    master_material_id BIGINT NOT NULL,
+    price DECIMAL(19, 4) NOT NULL,
+    unit VARCHAR(20) NOT NULL,
+    effective_from_date DATE NOT NULL,
+    effective_to_date DATE,
+    is_active BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_smp_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id),
+    CONSTRAINT fk_smp_master_material FOREIGN KEY (master_material_id) REFERENCES master_materials (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE price_revision_logs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    supplier_material_price_id BIGINT NOT NULL,
+    old_price DECIMAL(19, 4),
+    new_price DECIMAL(19, 4) NOT NULL,
+    old_effective_from_date DATE,
+    new_effective_from_date DATE NOT NULL,
+    old_effective_to_date DATE,
+    new_effective_to_date DATE,
+    change_timestamp DATETIME(6) NOT NULL,
+    changed_by_user VARCHAR(100),
+    reason_for_change TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_price_revision_logs_price FOREIGN KEY (supplier_material_price_id) REFERENCES supplier_material_prices (id)
+) ENGINE = InnoDB;
+
+-- Site and supplier are plain IDs (no foreign keys); see SpendRollup
+CREATE TABLE spend_rollups (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    site_id BIGINT NOT NULL,
+    supplier_id BIGINT NOT NULL,
+    period_month DATE NOT NULL,
+    bill_count BIGINT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    pending_grn_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_spend_rollups_site_supplier_month UNIQUE (site_id, supplier_id, period_month)
+) ENGINE = InnoDB;
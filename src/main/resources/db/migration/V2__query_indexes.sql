@@ -0,0 +1,13 @@
+-- Indexes for the repository query methods (same set as the @Table(indexes = ...) declarations on the entities).
+
+-- purchase_bills: date-range listings and analytics, per-site listings and keyset pages, GRN status filters
+CREATE INDEX idx_purchase_bills_bill_date ON purchase_bills (bill_date);
+CREATE INDEX idx_purchase_bills_site_bill_date ON purchase_bills (site_id, bill_date);
+CREATE INDEX idx_purchase_bills_overall_grn_status ON purchase_bills (overall_grn_status);
+
+-- bill_items: items of a bill (and covering index for the material analytics), material in-use checks
+CREATE INDEX idx_bill_items_bill_material_totals ON bill_items (purchase_bill_id, master_material_id, unit, quantity, item_total_price);
+CREATE INDEX idx_bill_items_master_material ON bill_items (master_material_id);
+
+-- supplier_material_prices: active price lookups and overlap checks
+CREATE INDEX idx_smp_supplier_material_unit_from ON supplier_material_prices (supplier_id, master_material_id, unit, effective_from_date);
@@ -0,0 +1,15 @@
+-- Denormalised copy of purchase_bills.bill_date on bill_items, so item queries can filter (and a partitioned
+-- bill_items table can prune) on the bill date without going through purchase_bills.
+ALTER TABLE bill_items ADD COLUMN bill_date DATE NULL AFTER item_total_price;
+
+UPDATE bill_items bi
+    JOIN purchase_bills pb ON pb.id = bi.purchase_bill_id
+SET bi.bill_date = pb.bill_date;
+
+ALTER TABLE bill_items MODIFY bill_date DATE NOT NULL;
+
+-- The analytics covering index carries bill_date as well (dropped and re-added in one statement, so the
+-- purchase_bill_id foreign key always has an index)
+ALTER TABLE bill_items
+    DROP INDEX idx_bill_items_bill_material_totals,
+    ADD INDEX idx_bill_items_bill_material_totals (purchase_bill_id, bill_date, master_material_id, unit, quantity, item_total_price);
@@ -0,0 +1,15 @@
+-- Archive tier for closed bills (see ArchivedPurchaseBill). No foreign keys: archived rows outlive nothing they
+-- reference, and the live bill tables may be partitioned, which rules out foreign keys to them anyway.
+CREATE TABLE archived_purchase_bills (
+    id BIGINT NOT NULL,
+    bill_number VARCHAR(255) NOT NULL,
+    bill_date DATE NOT NULL,
+    site_id BIGINT NOT NULL,
+    supplier_id BIGINT,
+    total_amount DECIMAL(10, 2),
+    item_count INTEGER NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    payload LONGBLOB NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_archived_purchase_bills_site_bill_date (site_id, bill_date)
+) ENGINE = InnoDB;
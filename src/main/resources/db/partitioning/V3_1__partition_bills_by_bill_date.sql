@@ -0,0 +1,57 @@
+-- Opt-in (profile "partitioned"): RANGE COLUMNS partitioning of purchase_bills and bill_items on bill_date.
+--
+-- MySQL requires every unique key of a partitioned table to contain the partitioning column and does not allow
+-- foreign keys on partitioned InnoDB tables, in either direction. So the primary keys become (id, bill_date) and
+-- the foreign keys of both tables are dropped; the services already check site, supplier and material existence.
+ALTER TABLE bill_items
+    DROP FOREIGN KEY fk_bill_items_purchase_bill,
+    DROP FOREIGN KEY fk_bill_items_master_material;
+
+ALTER TABLE purchase_bills
+    DROP FOREIGN KEY fk_purchase_bills_supplier,
+    DROP FOREIGN KEY fk_purchase_bills_site;
+
+ALTER TABLE purchase_bills DROP PRIMARY KEY, ADD PRIMARY KEY (id, bill_date);
+ALTER TABLE bill_items DROP PRIMARY KEY, ADD PRIMARY KEY (id, bill_date);
+
+-- Existing rows are split so that date-range queries over history prune too: one partition per year (pYYYY) from
+-- the year of the oldest bill up to the current year, then one per month (pYYYYMM) up to the start of next month.
+-- p_future catches everything later; BillPartitionMaintenanceJob splits monthly or yearly partitions off it ahead
+-- of time. The split follows the data present when this runs, so bills later back-dated before the oldest year
+-- all land in the first partition.
+SET @history_boundary = DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @current_year_start = MAKEDATE(YEAR(CURRENT_DATE), 1);
+SET @first_year = LEAST(YEAR(CURRENT_DATE),
+                        COALESCE((SELECT YEAR(MIN(bill_date)) FROM purchase_bills), YEAR(CURRENT_DATE)),
+                        COALESCE((SELECT YEAR(MIN(bill_date)) FROM bill_items), YEAR(CURRENT_DATE)));
+SET SESSION group_concat_max_len = 1048576;
+
+WITH RECURSIVE periods (period_start, period_end) AS (
+    SELECT MAKEDATE(@first_year, 1),
+           IF(MAKEDATE(@first_year, 1) < @current_year_start,
+              MAKEDATE(@first_year, 1) + INTERVAL 1 YEAR, MAKEDATE(@first_year, 1) + INTERVAL 1 MONTH)
+    UNION ALL
+    SELECT period_end,
+           IF(period_end < @current_year_start, period_end + INTERVAL 1 YEAR, period_end + INTERVAL 1 MONTH)
+    FROM periods
+    WHERE period_end < @history_boundary
+)
+SELECT GROUP_CONCAT(CONCAT('PARTITION ',
+                           IF(period_start < @current_year_start, DATE_FORMAT(period_start, 'p%Y'),
+                              DATE_FORMAT(period_start, 'p%Y%m')),
+                           ' VALUES LESS THAN (''', period_end, '''), ')
+                    ORDER BY period_start SEPARATOR '')
+INTO @history_partitions
+FROM periods;
+
+SET @ddl = CONCAT('ALTER TABLE purchase_bills PARTITION BY RANGE COLUMNS (bill_date) (', @history_partitions,
+                  'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_stmt FROM @ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
+
+SET @ddl = CONCAT('ALTER TABLE bill_items PARTITION BY RANGE COLUMNS (bill_date) (', @history_partitions,
+                  'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_stmt FROM @ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
@@ -0,0 +1,121 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.keerthimac.bill_tracker_system.dto.BillItemRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures PurchaseBill creation for bills of 10, 100 and 1000 items.
+ * Reports wall-clock time and the number of JDBC statements Hibernate prepared, which is
+ * what JDBC batching reduces. Run the same class on a commit before and after a persistence
+ * change to compare. Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BillInsertBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int MATERIAL_COUNT = 100;
+
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private SiteRepository siteRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private ItemCategoryRepository itemCategoryRepository;
+    @Autowired
+    private MasterMaterialRepository masterMaterialRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long siteId;
+    private Long supplierId;
+    private final List<Long> masterMaterialIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedReferenceData() {
+        String suffix = Long.toString(System.nanoTime());
+
+        Site site = new Site();
+        site.setName("Benchmark Site " + suffix);
+        siteId = siteRepository.save(site).getId();
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Benchmark Supplier " + suffix);
+        supplierId = supplierRepository.save(supplier).getId();
+
+        ItemCategory category = new ItemCategory();
+        category.setName("Benchmark Category " + suffix);
+        category = itemCategoryRepository.save(category);
+
+        masterMaterialIds.clear();
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            MasterMaterial material = new MasterMaterial();
+            material.setName("Benchmark Material " + suffix + "-" + i);
+            material.setDefaultUnit("PCS");
+            material.setItemCategory(category);
+            masterMaterialIds.add(masterMaterialRepository.save(material).getId());
+        }
+    }
+
+    @ParameterizedTest(name = "{0} items per bill")
+    @ValueSource(ints = {10, 100, 1000})
+    void createBill(int itemCount) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            purchaseBillService.createPurchaseBill(billRequest(itemCount, "W" + i));
+        }
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            purchaseBillService.createPurchaseBill(billRequest(itemCount, "M" + i));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("[benchmark] %4d items/bill: %8.2f ms/bill, %6.1f statements/bill, %6.1f inserts/bill%n",
+                itemCount,
+                elapsedNanos / 1_000_000.0 / MEASURED_ROUNDS,
+                (double) statistics.getPrepareStatementCount() / MEASURED_ROUNDS,
+                (double) statistics.getEntityInsertCount() / MEASURED_ROUNDS);
+    }
+
+    private PurchaseBillRequestDTO billRequest(int itemCount, String billSuffix) {
+        List<BillItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new BillItemRequestDTO(
+                    masterMaterialIds.get(i % masterMaterialIds.size()),
+                    BigDecimal.valueOf(i % 7 + 1),
+                    "PCS",
+                    new BigDecimal("125.50")));
+        }
+        return new PurchaseBillRequestDTO("BENCH-" + itemCount + "-" + billSuffix,
+                LocalDate.now(), supplierId, siteId, items);
+    }
+}
@@ -0,0 +1,195 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.keerthimac.bill_tracker_system.BillTrackerSystemApplication;
+import com.keerthimac.bill_tracker_system.datagen.DataGenSpec;
+import com.keerthimac.bill_tracker_system.datagen.GeneratedData;
+import com.keerthimac.bill_tracker_system.datagen.SyntheticDataGenerator;
+import com.keerthimac.bill_tracker_system.service.SpendReportService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: boots the application (prod profile) against an embedded MariaDB, seeds it with
+ * production-like volume through SyntheticDataGenerator and drives a mixed workload over HTTP, reporting throughput
+ * and p50/p99 per endpoint. Run it before and after a performance change on the same machine and compare the reports.
+ * <p>
+ * Opt-in: {@code mvn test -Ploadtest}. Tunables (system properties): loadtest.seed (default 42),
+ * loadtest.bills (125000, about 1M items), loadtest.sites (25), loadtest.suppliers (200),
+ * loadtest.clients (32), loadtest.seconds (60), loadtest.poolSize (10); the rest of the data set keeps the
+ * DataGenSpec defaults.
+ */
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndToEndLoadTest {
+
+    private static final String DATABASE = "bill_tracker_loadtest";
+    private static final int ITEMS_PER_CREATED_BILL = 20;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private DB database;
+    private ConfigurableApplicationContext context;
+    private GeneratedData data;
+    private String baseUrl;
+
+    @BeforeAll
+    void startDatabaseAndApplication() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // Any free port
+        database = DB.newEmbeddedDB(config.build());
+        database.start();
+        database.createDB(DATABASE);
+
+        context = new SpringApplicationBuilder(BillTrackerSystemApplication.class)
+                .profiles("prod")
+                // Command-line arguments, so they take precedence over application-prod.properties
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:mysql://localhost:" + database.getConfiguration().getPort() + "/" + DATABASE
+                                + "?useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true&useCursorFetch=true",
+                        "--spring.datasource.username=root",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("loadtest.poolSize", 10),
+                        "--spring.datasource.hikari.minimum-idle=" + Integer.getInteger("loadtest.poolSize", 10),
+                        "--logging.file.name=target/loadtest.log");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+
+        DataGenSpec spec = new DataGenSpec();
+        spec.setSeed(Long.getLong("loadtest.seed", 42L));
+        spec.setBills(Long.getLong("loadtest.bills", 125_000L));
+        spec.setSites(Integer.getInteger("loadtest.sites", 25));
+        spec.setSuppliers(Integer.getInteger("loadtest.suppliers", 200));
+        long start = System.nanoTime();
+        data = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), context.getBean(PlatformTransactionManager.class))
+                .generate(spec);
+        context.getBean(SpendReportService.class).rebuildRollups();
+        System.out.printf("[loadtest] seeded %d bills / %d items in %d s%n", data.getBills(), data.getBillItems(),
+                Duration.ofNanos(System.nanoTime() - start).getSeconds());
+    }
+
+    @AfterAll
+    void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (database != null) {
+            database.stop();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 32);
+        Duration measured = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 60));
+        LoadDriver driver = new LoadDriver(clients, Duration.ofSeconds(10), measured);
+
+        Map<String, LoadDriver.Result> results = driver.runMix(List.of(
+                new LoadDriver.Operation("bill create", 1, (clientId, sequence) -> send(post(
+                        "/purchase-bills", createBody("LT-NEW-" + clientId + "-" + sequence)), 201)),
+                new LoadDriver.Operation("bill get", 3, (clientId, sequence) -> send(get(
+                        "/purchase-bills/" + randomBill()), 200)),
+                new LoadDriver.Operation("bill list", 3, (clientId, sequence) -> send(get(
+                        "/purchase-bills/page?size=50&siteId=" + data.siteId(random(data.getSites()))), 200)),
+                new LoadDriver.Operation("grn update", 2, (clientId, sequence) -> send(patch(
+                        "/purchase-bills/items/" + randomBillItem() + "/grn?received=true&view=compact"), 200)),
+                new LoadDriver.Operation("active price", 3, (clientId, sequence) -> {
+                    int supplier = random(data.getSuppliers());
+                    long materialId = data.pricedMaterialId(supplier, random(data.getPricedMaterialsPerSupplier()));
+                    return send(get("/supplier-prices/active-price?supplierId=" + data.supplierId(supplier)
+                            + "&masterMaterialId=" + materialId + "&unit=" + data.unitOf(materialId)
+                            + "&date=" + LocalDate.now()), 200);
+                }),
+                new LoadDriver.Operation("active prices", 1, (clientId, sequence) -> send(post(
+                        "/supplier-prices/active-prices", activePricesBody()), 200))));
+
+        System.out.println("[loadtest] mixed workload (" + clients + " clients, " + measured.getSeconds() + " s)");
+        results.forEach((endpoint, result) -> System.out.printf("[loadtest] %-13s | %s%n", endpoint, result));
+        assertThat(results.values()).allSatisfy(result -> assertThat(result.requests()).isPositive());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest patch(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private boolean send(HttpRequest request, int expectedStatus) throws Exception {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == expectedStatus;
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private long randomBill() {
+        return data.billId(ThreadLocalRandom.current().nextLong(data.getBills()));
+    }
+
+    private long randomBillItem() {
+        return data.billItemId(ThreadLocalRandom.current().nextLong(data.getBillItems()));
+    }
+
+    private String createBody(String billNumber) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < ITEMS_PER_CREATED_BILL; i++) {
+            long materialId = data.materialId(random(data.getMaterials()));
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"masterMaterialId\":").append(materialId)
+                    .append(",\"quantity\":").append(i % 7 + 1)
+                    .append(",\"unit\":\"").append(data.unitOf(materialId)).append("\",\"unitPrice\":125.50}");
+        }
+        return "{\"billNumber\":\"" + billNumber + "\",\"billDate\":\"" + LocalDate.now() + "\"," +
+                "\"supplierId\":" + data.supplierId(random(data.getSuppliers())) +
+                ",\"siteId\":" + data.siteId(random(data.getSites())) + ",\"items\":[" + items + "]}";
+    }
+
+    private String activePricesBody() {
+        int supplier = random(data.getSuppliers());
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < ITEMS_PER_CREATED_BILL; i++) {
+            long materialId = data.pricedMaterialId(supplier, random(data.getPricedMaterialsPerSupplier()));
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"masterMaterialId\":").append(materialId)
+                    .append(",\"unit\":\"").append(data.unitOf(materialId)).append("\"}");
+        }
+        return "{\"supplierId\":" + data.supplierId(supplier) + ",\"date\":\"" + LocalDate.now() + "\",\"items\":[" + items + "]}";
+    }
+}
@@ -0,0 +1,220 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for the benchmarks: a fixed number of client threads each send one request
+ * after another for a warm-up period and then a measured period, and the latencies of the measured
+ * requests are summarised as throughput and percentiles. A mixed workload picks each request from
+ * weighted operations and reports every operation separately.
+ */
+class LoadDriver {
+
+    /**
+     * One client request. Returns true on success; a false return or an exception counts as an error.
+     */
+    @FunctionalInterface
+    interface Request {
+        boolean send(int clientId, long sequence) throws Exception;
+    }
+
+    /**
+     * One kind of request in a mixed workload, picked with probability weight / (sum of weights).
+     */
+    static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Request request;
+
+        Operation(String name, int weight, Request request) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Operation weight must be at least 1: " + name);
+            }
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+
+    private final int clients;
+    private final Duration warmUp;
+    private final Duration measured;
+
+    LoadDriver(int clients, Duration warmUp, Duration measured) {
+        this.clients = clients;
+        this.warmUp = warmUp;
+        this.measured = measured;
+    }
+
+    Result run(Request request) throws Exception {
+        return runMix(List.of(new Operation("request", 1, request))).get("request");
+    }
+
+    /**
+     * Runs a mixed workload and returns the result of every operation, in the order given.
+     */
+    Map<String, Result> runMix(List<Operation> operations) throws Exception {
+        int[] cumulativeWeights = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).weight;
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            long measureFrom = System.nanoTime() + warmUp.toNanos();
+            long measureUntil = measureFrom + measured.toNanos();
+            List<Future<ClientStats[]>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                futures.add(executor.submit(() -> runClient(clientId, operations, cumulativeWeights, measureFrom, measureUntil)));
+            }
+
+            ClientStats[] totals = new ClientStats[operations.size()];
+            Arrays.setAll(totals, i -> new ClientStats());
+            for (Future<ClientStats[]> future : futures) {
+                ClientStats[] clientStats = future.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i].merge(clientStats[i]);
+                }
+            }
+            Map<String, Result> results = new LinkedHashMap<>();
+            for (int i = 0; i < operations.size(); i++) {
+                results.put(operations.get(i).name, new Result(clients, measured, totals[i].latencies(), totals[i].errors));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ClientStats[] runClient(int clientId, List<Operation> operations, int[] cumulativeWeights,
+                                           long measureFrom, long measureUntil) {
+        ClientStats[] stats = new ClientStats[operations.size()];
+        Arrays.setAll(stats, i -> new ClientStats());
+        // Seeded per client, so a rerun sends the same sequence of operations
+        SplittableRandom random = new SplittableRandom(clientId);
+        int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+        long sequence = 0;
+        while (true) {
+            int operation = pick(cumulativeWeights, random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            if (start >= measureUntil) {
+                return stats;
+            }
+            boolean ok;
+            try {
+                ok = operations.get(operation).request.send(clientId, sequence++);
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (start >= measureFrom) {
+                if (ok) {
+                    stats[operation].record(System.nanoTime() - start);
+                } else {
+                    stats[operation].errors++;
+                }
+            }
+        }
+    }
+
+    private static int pick(int[] cumulativeWeights, int draw) {
+        int i = 0;
+        while (draw >= cumulativeWeights[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class ClientStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        private void merge(ClientStats other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        private long[] latencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+
+    static final class Result {
+        private final int clients;
+        private final long requests;
+        private final long errors;
+        private final double throughputPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        private Result(int clients, Duration measured, long[] latencies, long errors) {
+            Arrays.sort(latencies);
+            this.clients = clients;
+            this.requests = latencies.length;
+            this.errors = errors;
+            this.throughputPerSecond = latencies.length / (measured.toNanos() / 1_000_000_000.0);
+            this.p50Millis = percentile(latencies, 0.50);
+            this.p99Millis = percentile(latencies, 0.99);
+            this.maxMillis = latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0;
+        }
+
+        // Nearest-rank percentile of sorted latencies, in milliseconds
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+        }
+
+        long requests() {
+            return requests;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        double throughputPerSecond() {
+            return throughputPerSecond;
+        }
+
+        double p50Millis() {
+            return p50Millis;
+        }
+
+        double p99Millis() {
+            return p99Millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%3d clients: %8.1f req/s, p50 %7.2f ms, p99 %7.2f ms, max %7.2f ms, %d requests, %d errors",
+                    clients, throughputPerSecond, p50Millis, p99Millis, maxMillis, requests, errors);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.keerthimac.bill_tracker_system.BillTrackerSystemApplication;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sweeps the HikariCP pool size under the prod profile: for each size it starts the application on a random port
+ * and drives the create-bill and keyset-listing endpoints over HTTP with a fixed number of concurrent clients.
+ * Pick the smallest pool after which throughput stops rising and p99 stops falling.
+ * <p>
+ * Opt-in: {@code mvn test -Pbenchmark -Dtest=PoolSizeSweepBenchmarkTest}. Tunables (system properties):
+ * benchmark.poolSizes (default 2,5,10,20,40), benchmark.clients (64), benchmark.seconds (20).
+ */
+@Tag("benchmark")
+class PoolSizeSweepBenchmarkTest {
+
+    private static final int ITEMS_PER_BILL = 20;
+    private static final int MATERIAL_COUNT = 50;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void sweepPoolSizes() throws Exception {
+        int[] poolSizes = Arrays.stream(System.getProperty("benchmark.poolSizes", "2,5,10,20,40").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        int clients = Integer.getInteger("benchmark.clients", 64);
+        Duration measured = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 20));
+        LoadDriver driver = new LoadDriver(clients, Duration.ofSeconds(5), measured);
+
+        List<String> report = new ArrayList<>();
+        for (int poolSize : poolSizes) {
+            try (ConfigurableApplicationContext context = start(poolSize)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                        + "/api/v1/purchase-bills";
+                ReferenceData data = seed(context);
+
+                LoadDriver.Result create = driver.run((clientId, sequence) -> send(HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(createBody(data, "POOL" + poolSize + "-" + clientId + "-" + sequence)))
+                        .build(), 201));
+                LoadDriver.Result list = driver.run((clientId, sequence) -> send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/page?size=50&siteId=" + data.siteId)).GET().build(), 200));
+
+                report.add(String.format("pool %3d | create %s%n         | list   %s", poolSize, create, list));
+            }
+        }
+
+        System.out.println("[benchmark] HikariCP pool size sweep (" + clients + " clients, " + measured.getSeconds() + " s each)");
+        report.forEach(line -> System.out.println("[benchmark] " + line));
+    }
+
+    private ConfigurableApplicationContext start(int poolSize) {
+        return new SpringApplicationBuilder(BillTrackerSystemApplication.class)
+                .profiles("prod")
+                // Command-line arguments, so they take precedence over application-prod.properties
+                .run("--server.port=0",
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize);
+    }
+
+    private boolean send(HttpRequest request, int expectedStatus) throws Exception {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == expectedStatus;
+    }
+
+    private ReferenceData seed(ConfigurableApplicationContext context) {
+        String suffix = Long.toString(System.nanoTime());
+        ReferenceData data = new ReferenceData();
+
+        Site site = new Site();
+        site.setName("Pool Sweep Site " + suffix);
+        data.siteId = context.getBean(SiteRepository.class).save(site).getId();
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Pool Sweep Supplier " + suffix);
+        data.supplierId = context.getBean(SupplierRepository.class).save(supplier).getId();
+
+        ItemCategory category = new ItemCategory();
+        category.setName("Pool Sweep Category " + suffix);
+        category = context.getBean(ItemCategoryRepository.class).save(category);
+
+        MasterMaterialRepository masterMaterialRepository = context.getBean(MasterMaterialRepository.class);
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            MasterMaterial material = new MasterMaterial();
+            material.setName("Pool Sweep Material " + suffix + "-" + i);
+            material.setDefaultUnit("PCS");
+            material.setItemCategory(category);
+            data.materialIds.add(masterMaterialRepository.save(material).getId());
+        }
+        return data;
+    }
+
+    private static String createBody(ReferenceData data, String billNumber) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < ITEMS_PER_BILL; i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"masterMaterialId\":").append(data.materialIds.get(i % data.materialIds.size()))
+                    .append(",\"quantity\":").append(i % 7 + 1)
+                    .append(",\"unit\":\"PCS\",\"unitPrice\":125.50}");
+        }
+        return "{\"billNumber\":\"" + billNumber + "\",\"billDate\":\"" + LocalDate.now() + "\"," +
+                "\"supplierId\":" + data.supplierId + ",\"siteId\":" + data.siteId + ",\"items\":[" + items + "]}";
+    }
+
+    private static final class ReferenceData {
+        private Long siteId;
+        private Long supplierId;
+        private final List<Long> materialIds = new ArrayList<>();
+    }
+}
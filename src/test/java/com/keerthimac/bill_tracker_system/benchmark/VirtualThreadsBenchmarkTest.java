@@ -0,0 +1,119 @@
+package com.keerthimac.bill_tracker_system.benchmark;
+
+import com.keerthimac.bill_tracker_system.BillTrackerSystemApplication;
+import com.keerthimac.bill_tracker_system.datagen.DataGenSpec;
+import com.keerthimac.bill_tracker_system.datagen.GeneratedData;
+import com.keerthimac.bill_tracker_system.datagen.SyntheticDataGenerator;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares platform and virtual request threads under high concurrency (prod profile, same pool size): for each
+ * mode it starts the application, seeds a small data set and drives the purchase-bill get/list and supplier
+ * active-price endpoints with many more clients than Tomcat has platform threads. In the virtual run it also counts
+ * jdk.VirtualThreadPinned events, which should stay at zero for the JDBC path (HikariCP and Connector/J).
+ * <p>
+ * Opt-in and Java 21 only: {@code mvn test -Pjava21,benchmark -Dtest=VirtualThreadsBenchmarkTest}.
+ * Tunables (system properties): benchmark.clients (default 800), benchmark.seconds (30).
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsBenchmarkTest {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void compareVirtualWithPlatformThreads() throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 800);
+        Duration measured = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 30));
+        LoadDriver driver = new LoadDriver(clients, Duration.ofSeconds(5), measured);
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            AtomicLong pinnedEvents = new AtomicLong();
+            try (ConfigurableApplicationContext context = start(virtual);
+                 RecordingStream pinning = new RecordingStream()) {
+                pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20));
+                pinning.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.incrementAndGet());
+                pinning.startAsync();
+
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+                GeneratedData data = seed(context);
+                Map<String, LoadDriver.Result> results = driver.runMix(List.of(
+                        new LoadDriver.Operation("bill get", 2, (clientId, sequence) -> send(baseUrl + "/purchase-bills/"
+                                + data.billId(ThreadLocalRandom.current().nextLong(data.getBills())))),
+                        new LoadDriver.Operation("bill list", 1, (clientId, sequence) -> send(baseUrl
+                                + "/purchase-bills/page?size=50&siteId=" + data.siteId(random(data.getSites())))),
+                        new LoadDriver.Operation("active price", 2, (clientId, sequence) -> {
+                            int supplier = random(data.getSuppliers());
+                            long materialId = data.pricedMaterialId(supplier, random(data.getPricedMaterialsPerSupplier()));
+                            return send(baseUrl + "/supplier-prices/active-price?supplierId=" + data.supplierId(supplier)
+                                    + "&masterMaterialId=" + materialId + "&unit=" + data.unitOf(materialId)
+                                    + "&date=" + LocalDate.now());
+                        })));
+
+                String mode = virtual ? "virtual " : "platform";
+                results.forEach((endpoint, result) -> report.add(String.format("%s | %-12s | %s", mode, endpoint, result)));
+                if (virtual) {
+                    report.add("virtual  | pinned (>= 20 ms): " + pinnedEvents.get());
+                }
+            }
+        }
+
+        System.out.println("[benchmark] platform vs virtual request threads (" + clients + " clients, "
+                + measured.getSeconds() + " s each)");
+        report.forEach(line -> System.out.println("[benchmark] " + line));
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BillTrackerSystemApplication.class)
+                .profiles("prod")
+                // Command-line arguments, so they take precedence over application-prod.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads);
+    }
+
+    private GeneratedData seed(ConfigurableApplicationContext context) {
+        DataGenSpec spec = new DataGenSpec();
+        spec.setSeed(System.nanoTime()); // Names embed the seed; each run adds a fresh data set
+        spec.setSites(10);
+        spec.setSuppliers(50);
+        spec.setCategories(10);
+        spec.setMaterialsPerCategory(100);
+        spec.setPricedMaterialsPerSupplier(200);
+        spec.setBills(20_000);
+        return new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), context.getBean(PlatformTransactionManager.class))
+                .generate(spec);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private boolean send(String url) throws Exception {
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+}
@@ -0,0 +1,67 @@
+package com.keerthimac.bill_tracker_system.datagen;
+
+import com.keerthimac.bill_tracker_system.dto.SupplierMaterialPriceResponseDTO;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillService;
+import com.keerthimac.bill_tracker_system.service.SupplierMaterialPriceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private SupplierMaterialPriceService supplierMaterialPriceService;
+
+    @Test
+    void generatedRowsAreConsistentAndTheApplicationCanKeepInserting() {
+        DataGenSpec spec = new DataGenSpec();
+        spec.setSeed(System.nanoTime()); // Names embed the seed, and the test database is shared between runs
+        spec.setSites(2);
+        spec.setSuppliers(3);
+        spec.setCategories(2);
+        spec.setMaterialsPerCategory(5);
+        spec.setPricedMaterialsPerSupplier(4);
+        spec.setBills(40);
+        spec.setBatchSize(7);
+
+        GeneratedData data = new SyntheticDataGenerator(jdbcTemplate, transactionManager).generate(spec);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_bills WHERE id BETWEEN ? AND ?",
+                Long.class, data.billId(0), data.billId(data.getBills() - 1))).isEqualTo(40L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bill_items WHERE id BETWEEN ? AND ?",
+                Long.class, data.billItemId(0), data.billItemId(data.getBillItems() - 1))).isEqualTo(data.getBillItems());
+        // Bill totals and item counts agree with their lines
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_bills pb WHERE pb.id BETWEEN ? AND ? " +
+                        "AND (pb.total_item_count <> (SELECT COUNT(*) FROM bill_items bi WHERE bi.purchase_bill_id = pb.id) " +
+                        "OR pb.total_amount <> (SELECT SUM(bi.item_total_price) FROM bill_items bi WHERE bi.purchase_bill_id = pb.id))",
+                Long.class, data.billId(0), data.billId(data.getBills() - 1))).isZero();
+
+        // Every priced material has exactly one current price, in the material's unit
+        for (int supplier = 0; supplier < data.getSuppliers(); supplier++) {
+            for (int k = 0; k < data.getPricedMaterialsPerSupplier(); k++) {
+                long materialId = data.pricedMaterialId(supplier, k);
+                SupplierMaterialPriceResponseDTO price = supplierMaterialPriceService.getActivePriceForSupplierMaterialUnit(
+                        data.supplierId(supplier), materialId, data.unitOf(materialId), LocalDate.now()).orElseThrow();
+                assertThat(price.getEffectiveToDate()).isNull();
+            }
+        }
+
+        // The sequences were moved past the generated ids
+        assertThat(purchaseBillService.getPurchaseBillById(data.billId(0))).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM purchase_bills_seq", Long.class))
+                .isGreaterThan(data.billId(data.getBills() - 1));
+    }
+}
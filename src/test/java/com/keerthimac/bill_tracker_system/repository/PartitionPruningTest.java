@@ -0,0 +1,126 @@
+package com.keerthimac.bill_tracker_system.repository;
+
+import com.keerthimac.bill_tracker_system.partitioning.BillPartitionMaintenanceJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the date-range repository queries on the partitioned bill tables only touch the partition of the
+ * range, both for next month (created by the maintenance job) and for a month of existing history (created by the
+ * migration). Runs EXPLAIN on the SQL Hibernate generated, with its bind parameters, against a database migrated
+ * with the "partitioned" profile (-Dspring.profiles.active=partitioned) and is skipped otherwise.
+ */
+@SpringBootTest
+@Import(SqlRecorder.Config.class)
+class PartitionPruningTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+    @Autowired
+    private PurchaseBillRepository purchaseBillRepository;
+    @Autowired
+    private BillItemRepository billItemRepository;
+    @Autowired
+    private ObjectProvider<BillPartitionMaintenanceJob> maintenanceJob;
+
+    private BillPartitionMaintenanceJob job;
+    private List<LocalDate> months;
+
+    @BeforeEach
+    void requirePartitionedTables() {
+        for (String table : BillPartitionMaintenanceJob.PARTITIONED_TABLES) {
+            Integer partitions = jdbcTemplate.queryForObject("SELECT COUNT(PARTITION_NAME) FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", Integer.class, table);
+            assumeTrue(partitions != null && partitions > 1, table + " is not partitioned");
+        }
+        job = maintenanceJob.getIfAvailable();
+        assumeTrue(job != null, "partition maintenance is not enabled");
+        job.createFuturePartitions();
+
+        // A calendar month never straddles a partition bound, monthly or yearly
+        Date oldestBill = jdbcTemplate.queryForObject("SELECT MIN(bill_date) FROM purchase_bills", Date.class);
+        LocalDate historyMonth = oldestBill != null ? oldestBill.toLocalDate() : LocalDate.now().minusYears(1);
+        months = List.of(historyMonth.withDayOfMonth(1), LocalDate.now().withDayOfMonth(1).plusMonths(1));
+    }
+
+    @Test
+    void maintenanceJobIsIdempotent() {
+        for (String table : BillPartitionMaintenanceJob.PARTITIONED_TABLES) {
+            assertThat(job.ensurePartitions(table, LocalDate.now())).isZero();
+        }
+    }
+
+    @Test
+    void findByBillDateBetweenPrunesToTheRange() {
+        for (LocalDate month : months) {
+            assertPrunedToMonth(month, () -> purchaseBillRepository.findByBillDateBetween(month, endOf(month)),
+                    "purchase_bills");
+        }
+    }
+
+    @Test
+    void findBySiteIdAndBillDateBetweenPrunesToTheRange() {
+        for (LocalDate month : months) {
+            assertPrunedToMonth(month, () -> purchaseBillRepository.findBySiteIdAndBillDateBetween(1L, month, endOf(month)),
+                    "purchase_bills");
+        }
+    }
+
+    @Test
+    void materialAnalyticsPrunesBothTables() {
+        for (LocalDate month : months) {
+            assertPrunedToMonth(month, () -> billItemRepository.sumByMaterial(null, month, endOf(month)),
+                    "purchase_bills", "bill_items");
+        }
+    }
+
+    private static LocalDate endOf(LocalDate month) {
+        return month.plusMonths(1).minusDays(1);
+    }
+
+    // Only the repository's own statement is checked; loading the associations of the returned bills is not date-bound
+    private void assertPrunedToMonth(LocalDate month, Runnable repositoryCall, String... tables) {
+        List<SqlRecorder.RecordedQuery> queries = sqlRecorder.record(repositoryCall);
+        assertThat(queries).as("SQL run by the repository call").isNotEmpty();
+        SqlRecorder.RecordedQuery query = queries.get(0);
+        Map<String, String> tablesByAlias = query.tablesByAlias();
+        List<Map<String, Object>> plan = query.explain(jdbcTemplate);
+        for (String table : tables) {
+            String expectedPartition = partitionContaining(table, month);
+            assertThat(plan)
+                    .as("EXPLAIN plan for: %s%nwith %s%n%s", query.sql(), query.parameters(), plan)
+                    .filteredOn(row -> table.equals(tablesByAlias.get(String.valueOf(row.get("table")))))
+                    .singleElement()
+                    .satisfies(row -> assertThat(row.get("partitions")).isEqualTo(expectedPartition));
+        }
+    }
+
+    private String partitionContaining(String table, LocalDate date) {
+        // RANGE COLUMNS on a DATE reports its bound quoted, e.g. '2026-11-01', and MAXVALUE for p_future
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION", table);
+        for (Map<String, Object> partition : partitions) {
+            String upperBound = String.valueOf(partition.get("PARTITION_DESCRIPTION")).replace("'", "");
+            if ("MAXVALUE".equals(upperBound) || date.isBefore(LocalDate.parse(upperBound))) {
+                return String.valueOf(partition.get("PARTITION_NAME"));
+            }
+        }
+        throw new IllegalStateException("No partition of " + table + " holds " + date);
+    }
+}
@@ -0,0 +1,225 @@
+package com.keerthimac.bill_tracker_system.repository;
+
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the filtering repository methods, runs EXPLAIN on the SQL Hibernate generated for each of them with the
+ * same bind parameters, and fails if MySQL would answer any of them with a full table scan (access type ALL) of
+ * the filtered tables.
+ * <p>
+ * Seeds enough rows, spread over sites, dates and GRN statuses, that the optimizer prefers an index whenever a
+ * usable one exists; on a near-empty table it would scan regardless. Everything seeded is deleted afterwards.
+ */
+@SpringBootTest
+@Import(SqlRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexUsageTest {
+
+    // Seeded bills and items use a fixed, high ID range so the seed is repeatable and never meets sequence-assigned IDs
+    private static final long ID_BASE = 900_000_000L;
+    private static final int SITE_COUNT = 20;
+    private static final int SUPPLIER_COUNT = 20;
+    private static final int MATERIAL_COUNT = 50;
+    private static final int BILL_COUNT = 4_000;
+    private static final int ITEMS_PER_BILL = 4;
+    private static final int MONTHS = 36;
+    private static final LocalDate FIRST_BILL_DATE = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+    @Autowired
+    private PurchaseBillRepository purchaseBillRepository;
+    @Autowired
+    private BillItemRepository billItemRepository;
+    @Autowired
+    private SupplierMaterialPriceRepository supplierMaterialPriceRepository;
+
+    private final List<Long> siteIds = new ArrayList<>();
+    private final List<Long> supplierIds = new ArrayList<>();
+    private final List<Long> materialIds = new ArrayList<>();
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        deleteSeededBills();
+        String suffix = Long.toString(System.nanoTime());
+
+        jdbcTemplate.update("INSERT INTO item_categories (name) VALUES (?)", "Explain Category " + suffix);
+        categoryId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        for (int i = 0; i < SITE_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO sites (name) VALUES (?)", "Explain Site " + suffix + "-" + i);
+            siteIds.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+        }
+        for (int i = 0; i < SUPPLIER_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO suppliers (name) VALUES (?)", "Explain Supplier " + suffix + "-" + i);
+            supplierIds.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+        }
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO master_materials (name, default_unit, item_category_id) VALUES (?, 'PCS', ?)",
+                    "Explain Material " + suffix + "-" + i, categoryId);
+            materialIds.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+        }
+
+        List<Object[]> bills = new ArrayList<>(BILL_COUNT);
+        List<Object[]> items = new ArrayList<>(BILL_COUNT * ITEMS_PER_BILL);
+        for (int b = 0; b < BILL_COUNT; b++) {
+            long billId = ID_BASE + b;
+            // One bill in twenty is fully received, so that status is selective like it is in production
+            String status = b % 20 == 0 ? "FULLY_RECEIVED" : (b % 3 == 0 ? "PARTIALLY_RECEIVED" : "PENDING");
+            Date billDate = Date.valueOf(FIRST_BILL_DATE.plusDays(b % (MONTHS * 30)));
+            bills.add(new Object[]{billId, "EXPLAIN-" + b, billDate,
+                    supplierIds.get(b % SUPPLIER_COUNT), siteIds.get(b % SITE_COUNT), status, ITEMS_PER_BILL,
+                    new BigDecimal("400.00")});
+            for (int i = 0; i < ITEMS_PER_BILL; i++) {
+                items.add(new Object[]{billId * ITEMS_PER_BILL + i, billId, billDate,
+                        materialIds.get((b * ITEMS_PER_BILL + i) % MATERIAL_COUNT), BigDecimal.ONE, "PCS",
+                        new BigDecimal("100.00"), new BigDecimal("100.00")});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO purchase_bills (id, bill_number, bill_date, supplier_id, site_id, " +
+                "overall_grn_status, total_item_count, received_item_count, grn_hardcopy_received_by_purchaser, " +
+                "grn_hardcopy_handed_to_accountant, total_amount) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?)", bills);
+        jdbcTemplate.batchUpdate("INSERT INTO bill_items (id, purchase_bill_id, bill_date, master_material_id, quantity, " +
+                "unit, unit_price, item_total_price, grn_received_for_item) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", items);
+
+        List<Object[]> prices = new ArrayList<>();
+        for (Long supplierId : supplierIds) {
+            for (Long materialId : materialIds) {
+                prices.add(new Object[]{supplierId, materialId, Date.valueOf(FIRST_BILL_DATE), Date.valueOf(FIRST_BILL_DATE.plusYears(1))});
+                prices.add(new Object[]{supplierId, materialId, Date.valueOf(FIRST_BILL_DATE.plusYears(1).plusDays(1)), null});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO supplier_material_prices (supplier_id, master_material_id, price, unit, " +
+                "effective_from_date, effective_to_date, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 10.0000, 'PCS', ?, ?, 1, NOW(), NOW())", prices);
+
+        jdbcTemplate.execute("ANALYZE TABLE purchase_bills, bill_items, supplier_material_prices");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteIn("supplier_material_prices", "supplier_id", supplierIds);
+        deleteSeededBills();
+        deleteIn("master_materials", "id", materialIds);
+        deleteIn("suppliers", "id", supplierIds);
+        deleteIn("sites", "id", siteIds);
+        deleteIn("item_categories", "id", categoryId == null ? List.of() : List.of(categoryId));
+    }
+
+    private void deleteSeededBills() {
+        jdbcTemplate.update("DELETE FROM bill_items WHERE purchase_bill_id >= ?", ID_BASE);
+        jdbcTemplate.update("DELETE FROM purchase_bills WHERE id >= ?", ID_BASE);
+    }
+
+    private void deleteIn(String table, String column, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " IN (" + placeholders + ")", ids.toArray());
+    }
+
+    @Test
+    void findBySiteIdUsesIndex() {
+        assertNoFullScan(() -> purchaseBillRepository.findBySiteId(siteIds.get(3)), "purchase_bills");
+    }
+
+    @Test
+    void findByBillDateBetweenUsesIndex() {
+        assertNoFullScan(() -> purchaseBillRepository.findByBillDateBetween(
+                LocalDate.of(2002, 3, 1), LocalDate.of(2002, 3, 31)), "purchase_bills");
+    }
+
+    @Test
+    void findBySiteIdAndBillDateBetweenUsesIndex() {
+        assertNoFullScan(() -> purchaseBillRepository.findBySiteIdAndBillDateBetween(
+                siteIds.get(3), LocalDate.of(2002, 1, 1), LocalDate.of(2002, 3, 31)), "purchase_bills");
+    }
+
+    @Test
+    void findByOverallGrnStatusUsesIndex() {
+        assertNoFullScan(() -> purchaseBillRepository.findByOverallGrnStatus(OverallGrnStatus.FULLY_RECEIVED),
+                "purchase_bills");
+    }
+
+    @Test
+    void findPageIdsAfterCursorUsesIndex() {
+        assertNoFullScan(() -> purchaseBillRepository.findPageIdsAfterCursor(siteIds.get(3), null, null,
+                LocalDate.of(2002, 6, 1), ID_BASE + 2000, PageRequest.of(0, 51)), "purchase_bills");
+    }
+
+    @Test
+    void findByPurchaseBillIdUsesIndex() {
+        assertNoFullScan(() -> billItemRepository.findByPurchaseBillId(ID_BASE + 17), "bill_items");
+    }
+
+    @Test
+    void existsByMasterMaterialIdUsesIndex() {
+        assertNoFullScan(() -> billItemRepository.existsByMasterMaterialId(materialIds.get(7)), "bill_items");
+    }
+
+    @Test
+    void findActivePriceAsListUsesIndex() {
+        assertNoFullScan(() -> supplierMaterialPriceRepository.findActivePrice(
+                supplierIds.get(2), materialIds.get(5), "PCS", LocalDate.of(2002, 6, 1)), "supplier_material_prices");
+    }
+
+    @Test
+    void findOverlappingPricesUsesIndex() {
+        assertNoFullScan(() -> supplierMaterialPriceRepository.findOverlappingPrices(
+                supplierIds.get(2), materialIds.get(5), "PCS", LocalDate.of(2002, 6, 1), null, null),
+                "supplier_material_prices");
+    }
+
+    @Test
+    void materialAnalyticsUsesIndexes() {
+        assertNoFullScan(() -> billItemRepository.sumByMaterial(
+                siteIds.get(3), LocalDate.of(2002, 3, 1), LocalDate.of(2002, 3, 31)), "purchase_bills", "bill_items");
+    }
+
+    private void assertNoFullScan(Runnable repositoryCall, String... checkedTables) {
+        List<SqlRecorder.RecordedQuery> queries = sqlRecorder.record(repositoryCall);
+        assertThat(queries).as("SQL run by the repository call").isNotEmpty();
+        List<String> tables = Arrays.asList(checkedTables);
+        List<String> checked = new ArrayList<>();
+        for (SqlRecorder.RecordedQuery query : queries) {
+            Map<String, String> tablesByAlias = query.tablesByAlias();
+            List<Map<String, Object>> plan = query.explain(jdbcTemplate);
+            List<Map<String, Object>> rows = plan.stream()
+                    .filter(row -> tables.contains(tableOf(row, tablesByAlias)))
+                    .toList();
+            assertThat(rows)
+                    .as("EXPLAIN plan for: %s%nwith %s%n%s", query.sql(), query.parameters(), plan)
+                    .noneMatch(row -> "ALL".equals(row.get("type")));
+            rows.forEach(row -> checked.add(tableOf(row, tablesByAlias)));
+        }
+        assertThat(checked).as("tables read by %s", queries).containsAll(tables);
+    }
+
+    private static String tableOf(Map<String, Object> planRow, Map<String, String> tablesByAlias) {
+        String table = String.valueOf(planRow.get("table"));
+        return tablesByAlias.getOrDefault(table, table);
+    }
+}
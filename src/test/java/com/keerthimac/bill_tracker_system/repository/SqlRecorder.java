@@ -0,0 +1,139 @@
+package com.keerthimac.bill_tracker_system.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the SELECT statements, with their bind parameters, that the database receives while a repository method
+ * runs, so that tests can EXPLAIN exactly the SQL Hibernate generated rather than a hand-written copy of it.
+ * Import {@link Config} to route the DataSource through the recorder.
+ */
+class SqlRecorder implements QueryExecutionListener {
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("\\b(?:from|join)\\s+(\\w+)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final List<RecordedQuery> recorded = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    /**
+     * Runs the call and returns the SELECT statements it executed, in order.
+     * @param call The repository call to record.
+     * @return The statements with the parameters they were executed with.
+     */
+    List<RecordedQuery> record(Runnable call) {
+        recorded.clear();
+        recording = true;
+        try {
+            call.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(recorded);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Statements are recorded once they have run
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recording) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!queryInfo.getQuery().stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                continue;
+            }
+            List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+            recorded.add(new RecordedQuery(queryInfo.getQuery(),
+                    parameterSets.isEmpty() ? List.of() : List.copyOf(parameterSets.get(0))));
+        }
+    }
+
+    /**
+     * A statement as the driver received it.
+     * @param sql The SQL with its ? placeholders.
+     * @param parameters The setXxx calls made on the PreparedStatement, replayed by {@link #explain}.
+     */
+    record RecordedQuery(String sql, List<ParameterSetOperation> parameters) {
+
+        /**
+         * Runs EXPLAIN on the statement with the same bind parameters it was executed with.
+         * @param jdbcTemplate The template to run EXPLAIN through.
+         * @return One row per table access in the plan.
+         */
+        List<Map<String, Object>> explain(JdbcTemplate jdbcTemplate) {
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                for (ParameterSetOperation parameter : parameters) {
+                    try {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    } catch (ReflectiveOperationException e) {
+                        throw new SQLException("Cannot replay " + parameter.getMethod().getName() + " on: " + sql, e);
+                    }
+                }
+                return statement;
+            }, new ColumnMapRowMapper());
+        }
+
+        /**
+         * Maps the aliases of the FROM and JOIN clauses to their tables, since EXPLAIN reports each row by alias.
+         * @return The table name for each alias.
+         */
+        Map<String, String> tablesByAlias() {
+            Map<String, String> tables = new HashMap<>();
+            Matcher matcher = TABLE_ALIAS.matcher(sql);
+            while (matcher.find()) {
+                tables.put(matcher.group(2), matcher.group(1));
+            }
+            return tables;
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        // static: a BeanPostProcessor must not force early initialisation of this configuration class
+        @Bean
+        static BeanPostProcessor sqlRecorderPostProcessor(ObjectProvider<SqlRecorder> sqlRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(sqlRecorder.getObject())
+                            .build();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.BillItemRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.BillItemResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillResponseDTO;
+import com.keerthimac.bill_tracker_system.dto.SpendRollupDTO;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.OverallGrnStatus;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.PurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives real bills, so the fixtures are dated long before any bill a development database could hold and the
+ * archive cutoff is the day after them: only the closed fixture qualifies, which the test checks before archiving.
+ * Everything seeded, archived or rolled up for the test's site is deleted after each test.
+ */
+@SpringBootTest
+class BillArchiveServiceTest {
+
+    private static final LocalDate BILL_DATE = LocalDate.of(1901, 2, 10);
+    private static final LocalDate CUTOFF = BILL_DATE.plusDays(1);
+    private static final YearMonth BILL_MONTH = YearMonth.from(BILL_DATE);
+
+    @Autowired
+    private BillArchiveService billArchiveService;
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private SpendReportService spendReportService;
+    @Autowired
+    private PurchaseBillRepository purchaseBillRepository;
+    @Autowired
+    private SiteRepository siteRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private ItemCategoryRepository itemCategoryRepository;
+    @Autowired
+    private MasterMaterialRepository masterMaterialRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long siteId;
+    private Long supplierId;
+    private Long categoryId;
+    private Long materialId;
+
+    @BeforeEach
+    void seedReferenceData() {
+        String suffix = Long.toString(System.nanoTime());
+
+        Site site = new Site();
+        site.setName("Archive Site " + suffix);
+        siteId = siteRepository.save(site).getId();
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Archive Supplier " + suffix);
+        supplierId = supplierRepository.save(supplier).getId();
+
+        ItemCategory category = new ItemCategory();
+        category.setName("Archive Category " + suffix);
+        MasterMaterial material = new MasterMaterial();
+        material.setName("Archive Material " + suffix);
+        material.setDefaultUnit("PCS");
+        material.setItemCategory(itemCategoryRepository.save(category));
+        categoryId = material.getItemCategory().getId();
+        materialId = masterMaterialRepository.save(material).getId();
+    }
+
+    @AfterEach
+    void deleteSeededRows() {
+        jdbcTemplate.update("DELETE FROM archived_purchase_bills WHERE site_id = ?", siteId);
+        jdbcTemplate.update("DELETE FROM spend_rollups WHERE site_id = ?", siteId);
+        jdbcTemplate.update("DELETE FROM bill_items WHERE purchase_bill_id IN (SELECT id FROM purchase_bills WHERE site_id = ?)", siteId);
+        jdbcTemplate.update("DELETE FROM purchase_bills WHERE site_id = ?", siteId);
+        jdbcTemplate.update("DELETE FROM master_materials WHERE id = ?", materialId);
+        jdbcTemplate.update("DELETE FROM item_categories WHERE id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM suppliers WHERE id = ?", supplierId);
+        jdbcTemplate.update("DELETE FROM sites WHERE id = ?", siteId);
+    }
+
+    @Test
+    void closedBillMovesToArchiveAndIsStillServedById() {
+        PurchaseBillResponseDTO closed = createBill("AR-CLOSED");
+        for (BillItemResponseDTO item : closed.getBillItems()) {
+            purchaseBillService.updateGrnReceivedForItem(item.getId(), true, null);
+        }
+        closed = purchaseBillService.updateGrnHardcopyStatus(closed.getId(), true, true);
+        PurchaseBillResponseDTO open = createBill("AR-OPEN"); // Same age, but not fully received
+        List<SpendRollupDTO> spendBefore = spend();
+        // Guards the database the test runs against: nothing but the fixture may be archived
+        assertThat(purchaseBillRepository.findArchivableIds(OverallGrnStatus.FULLY_RECEIVED, CUTOFF, Pageable.ofSize(10)))
+                .containsExactly(closed.getId());
+
+        assertThat(billArchiveService.archiveBillsOlderThan(CUTOFF, 1)).isEqualTo(1);
+
+        assertThat(purchaseBillRepository.existsById(closed.getId())).isFalse();
+        assertThat(purchaseBillRepository.existsById(open.getId())).isTrue();
+        PurchaseBillResponseDTO archived = purchaseBillService.getPurchaseBillById(closed.getId()).orElseThrow();
+        assertThat(archived.getBillNumber()).isEqualTo(closed.getBillNumber());
+        assertThat(archived.getOverallGrnStatus()).isEqualTo("FULLY_RECEIVED");
+        assertThat(archived.getBillItems()).hasSize(2).allMatch(BillItemResponseDTO::isGrnReceivedForItem);
+        assertThat(archived.getTotalAmount()).isEqualByComparingTo(closed.getTotalAmount());
+
+        // Archiving does not change the spend reported for the month, and a rebuild counts archived bills too
+        assertThat(spend()).isEqualTo(spendBefore);
+        spendReportService.rebuildRollups();
+        assertThat(spend()).isEqualTo(spendBefore);
+    }
+
+    private PurchaseBillResponseDTO createBill(String billNumber) {
+        List<BillItemRequestDTO> items = List.of(
+                new BillItemRequestDTO(materialId, BigDecimal.ONE, "PCS", new BigDecimal("25.00")),
+                new BillItemRequestDTO(materialId, new BigDecimal("2"), "PCS", new BigDecimal("10.00")));
+        return purchaseBillService.createPurchaseBill(
+                new PurchaseBillRequestDTO(billNumber, BILL_DATE, supplierId, siteId, items));
+    }
+
+    private List<SpendRollupDTO> spend() {
+        return spendReportService.getSpend("site-supplier", siteId, supplierId, BILL_MONTH, BILL_MONTH);
+    }
+}
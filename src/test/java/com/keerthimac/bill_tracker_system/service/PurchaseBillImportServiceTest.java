@@ -0,0 +1,123 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.BillImportResultDTO;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.PurchaseBill;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.importer.BillImportFormat;
+import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.PurchaseBillRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rolled back after each test: the import's chunk transactions join the test transaction.
+ */
+@SpringBootTest
+@Transactional
+class PurchaseBillImportServiceTest {
+
+    @Autowired
+    private PurchaseBillImportService purchaseBillImportService;
+    @Autowired
+    private PurchaseBillRepository purchaseBillRepository;
+    @Autowired
+    private SiteRepository siteRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private ItemCategoryRepository itemCategoryRepository;
+    @Autowired
+    private MasterMaterialRepository masterMaterialRepository;
+
+    private String suffix;
+    private Long siteId;
+
+    @BeforeEach
+    void seedReferenceData() {
+        suffix = Long.toString(System.nanoTime());
+
+        Site site = new Site();
+        site.setName("Import Site " + suffix);
+        siteId = siteRepository.save(site).getId();
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Import Supplier " + suffix);
+        supplierRepository.save(supplier);
+
+        ItemCategory category = new ItemCategory();
+        category.setName("Import Category " + suffix);
+        MasterMaterial material = new MasterMaterial();
+        material.setName("Import Material " + suffix);
+        material.setMaterialCode("IMP-" + suffix);
+        material.setDefaultUnit("PCS");
+        material.setItemCategory(itemCategoryRepository.save(category));
+        masterMaterialRepository.save(material);
+    }
+
+    @Test
+    void malformedRowInsideABillRejectsTheWholeBill() {
+        String ndjson = line("IMP-A") + "\n"
+                + "{\"billNumber\": \"IMP-A\", \"quantity\": \n" // Malformed JSON between two lines of bill IMP-A
+                + line("IMP-A") + "\n"
+                + line("IMP-B") + "\n";
+
+        BillImportResultDTO result = purchaseBillImportService.importBills(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), BillImportFormat.NDJSON);
+
+        assertThat(result.getRowsRead()).isEqualTo(4);
+        assertThat(result.getBillsImported()).isEqualTo(1);
+        assertThat(result.getItemsImported()).isEqualTo(1);
+        assertThat(result.getBillsRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRowNumber()).isEqualTo(2));
+        List<PurchaseBill> saved = purchaseBillRepository.findBySiteId(siteId);
+        assertThat(saved).extracting(PurchaseBill::getBillNumber).containsExactly("IMP-B");
+    }
+
+    @Test
+    void strayQuoteCutsOffOneRecordAndRejectsTheBillsItTouches() {
+        StringBuilder csv = new StringBuilder("billNumber,billDate,siteName,supplierName,materialCode,quantity,unit,unitPrice\n")
+                .append(csvLine("IMP-A", "2")).append('\n')
+                .append(csvLine("IMP-A", "\"2")).append('\n'); // Quote never closed: swallows the following lines
+        for (int i = 0; i < 200; i++) {
+            csv.append(csvLine("IMP-B", "2")).append('\n');
+        }
+        csv.append(csvLine("IMP-C", "2")).append('\n');
+
+        BillImportResultDTO result = purchaseBillImportService.importBills(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), BillImportFormat.CSV);
+
+        // IMP-A holds the cut-off record; IMP-B resumes after it with some of its lines lost
+        assertThat(result.getBillsImported()).isEqualTo(1);
+        assertThat(result.getBillsRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(2);
+        List<PurchaseBill> saved = purchaseBillRepository.findBySiteId(siteId);
+        assertThat(saved).extracting(PurchaseBill::getBillNumber).containsExactly("IMP-C");
+    }
+
+    private String csvLine(String billNumber, String quantity) {
+        return billNumber + ",2003-04-05,Import Site " + suffix + ",Import Supplier " + suffix + ",IMP-" + suffix
+                + "," + quantity + ",PCS,10.50";
+    }
+
+    private String line(String billNumber) {
+        return "{\"billNumber\": \"" + billNumber + "\", \"billDate\": \"2003-04-05\", "
+                + "\"siteName\": \"Import Site " + suffix + "\", \"supplierName\": \"Import Supplier " + suffix + "\", "
+                + "\"materialCode\": \"IMP-" + suffix + "\", \"quantity\": \"2\", \"unit\": \"PCS\", \"unitPrice\": \"10.50\"}";
+    }
+}
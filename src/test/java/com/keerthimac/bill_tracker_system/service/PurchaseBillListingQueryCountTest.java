@@ -0,0 +1,159 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.dto.BillItemRequestDTO;
+import com.keerthimac.bill_tracker_system.dto.PurchaseBillRequestDTO;
+import com.keerthimac.bill_tracker_system.entity.ItemCategory;
+import com.keerthimac.bill_tracker_system.entity.MasterMaterial;
+import com.keerthimac.bill_tracker_system.entity.Site;
+import com.keerthimac.bill_tracker_system.entity.Supplier;
+import com.keerthimac.bill_tracker_system.repository.ItemCategoryRepository;
+import com.keerthimac.bill_tracker_system.repository.MasterMaterialRepository;
+import com.keerthimac.bill_tracker_system.repository.SiteRepository;
+import com.keerthimac.bill_tracker_system.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the bill listings against N+1 lazy loading: each listing must run a fixed number of
+ * SQL statements however many bills, items, materials and categories it maps.
+ * <p>
+ * The seed is committed, not rolled back, so that the listings start from an empty persistence context as they do
+ * in a request; everything it created is deleted after each test.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PurchaseBillListingQueryCountTest {
+
+    private static final int BILL_COUNT = 8;
+    private static final int ITEMS_PER_BILL = 4;
+    private static final LocalDate BILL_DATE = LocalDate.of(2001, 1, 15);
+
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private SiteRepository siteRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private ItemCategoryRepository itemCategoryRepository;
+    @Autowired
+    private MasterMaterialRepository masterMaterialRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long siteId;
+    private final List<Long> supplierIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> materialIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedBills() {
+        String suffix = Long.toString(System.nanoTime());
+
+        Site site = new Site();
+        site.setName("Query Count Site " + suffix);
+        siteId = siteRepository.save(site).getId();
+
+        // A distinct supplier, material and category per bill so any lazy load would show up per row
+        for (int b = 0; b < BILL_COUNT; b++) {
+            Supplier supplier = new Supplier();
+            supplier.setName("Query Count Supplier " + suffix + "-" + b);
+            Long supplierId = supplierRepository.save(supplier).getId();
+            supplierIds.add(supplierId);
+
+            List<BillItemRequestDTO> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_BILL; i++) {
+                ItemCategory category = new ItemCategory();
+                category.setName("Query Count Category " + suffix + "-" + b + "-" + i);
+                category = itemCategoryRepository.save(category);
+                categoryIds.add(category.getId());
+
+                MasterMaterial material = new MasterMaterial();
+                material.setName("Query Count Material " + suffix + "-" + b + "-" + i);
+                material.setDefaultUnit("PCS");
+                material.setItemCategory(category);
+                Long materialId = masterMaterialRepository.save(material).getId();
+                materialIds.add(materialId);
+
+                items.add(new BillItemRequestDTO(materialId, BigDecimal.ONE, "PCS", BigDecimal.TEN));
+            }
+            purchaseBillService.createPurchaseBill(
+                    new PurchaseBillRequestDTO("QC-" + suffix + "-" + b, BILL_DATE, supplierId, siteId, items));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void deleteSeededRows() {
+        jdbcTemplate.update("DELETE FROM spend_rollups WHERE site_id = ?", siteId);
+        jdbcTemplate.update("DELETE FROM bill_items WHERE purchase_bill_id IN (SELECT id FROM purchase_bills WHERE site_id = ?)", siteId);
+        jdbcTemplate.update("DELETE FROM purchase_bills WHERE site_id = ?", siteId);
+        deleteIn("master_materials", materialIds);
+        deleteIn("item_categories", categoryIds);
+        deleteIn("suppliers", supplierIds);
+        jdbcTemplate.update("DELETE FROM sites WHERE id = ?", siteId);
+        materialIds.clear();
+        categoryIds.clear();
+        supplierIds.clear();
+    }
+
+    private void deleteIn(String table, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    @Test
+    void allBillsListingRunsOneStatement() {
+        purchaseBillService.getAllPurchaseBills();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bySiteListingRunsConstantStatements() {
+        assertThat(purchaseBillService.getPurchaseBillsBySite(siteId)).hasSize(BILL_COUNT);
+        // site existence check + listing
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void byDateRangeListingRunsOneStatement() {
+        purchaseBillService.getPurchaseBillsByDateRange(BILL_DATE, BILL_DATE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bySiteAndDateRangeListingRunsConstantStatements() {
+        assertThat(purchaseBillService.getPurchaseBillsBySiteAndDateRange(siteId, BILL_DATE, BILL_DATE)).hasSize(BILL_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void keysetPageRunsConstantStatements() {
+        assertThat(purchaseBillService.getPurchaseBillsPage(siteId, null, null, null, BILL_COUNT).getItems())
+                .hasSize(BILL_COUNT);
+        // site existence check + page ids + page graph
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
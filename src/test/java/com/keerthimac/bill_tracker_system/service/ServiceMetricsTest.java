@@ -0,0 +1,45 @@
+package com.keerthimac.bill_tracker_system.service;
+
+import com.keerthimac.bill_tracker_system.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that service calls are timed and counted per method, and repository calls timed per repository method.
+ */
+@SpringBootTest
+class ServiceMetricsTest {
+
+    @Autowired
+    private SiteService siteService;
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceAndRepositoryCallsAreTimed() {
+        siteService.getAllSites();
+        purchaseBillService.getPurchaseBillById(-1L);
+
+        Timer siteTimer = meterRegistry.find(ServiceMetrics.TIMER)
+                .tag("class", "com.keerthimac.bill_tracker_system.service.impl.SiteServiceImpl")
+                .tag("method", "getAllSites")
+                .timer();
+        assertThat(siteTimer).isNotNull();
+        assertThat(siteTimer.count()).isPositive();
+
+        assertThat(meterRegistry.find(ServiceMetrics.COUNTER).tag("method", "getPurchaseBillById").counter())
+                .isNotNull();
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "PurchaseBillRepository")
+                .tag("method", "findWithDetailsById")
+                .timer())
+                .isNotNull();
+    }
+}
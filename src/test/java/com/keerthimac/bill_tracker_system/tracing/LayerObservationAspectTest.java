@@ -0,0 +1,76 @@
+package com.keerthimac.bill_tracker_system.tracing;
+
+import com.keerthimac.bill_tracker_system.jdbc.QueryObservationListener;
+import com.keerthimac.bill_tracker_system.service.PurchaseBillService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a service call is observed layer by layer: service, then repository, then the SQL it ran.
+ */
+@SpringBootTest(properties = "bill-tracker.tracing.enabled=true")
+class LayerObservationAspectTest {
+
+    @Autowired
+    private PurchaseBillService purchaseBillService;
+    @Autowired
+    private RecordingHandler recordingHandler;
+
+    @Test
+    void serviceRepositoryAndSqlSpansAreNested() {
+        recordingHandler.stopped.clear();
+
+        purchaseBillService.getPurchaseBillById(-1L);
+
+        Observation.Context service = find("PurchaseBillServiceImpl.getPurchaseBillById").orElseThrow();
+        Observation.Context repository = find("PurchaseBillRepository.findWithDetailsById").orElseThrow();
+        assertThat(repository.getParentObservation().getContextView()).isSameAs(service);
+        assertThat(recordingHandler.stopped)
+                .filteredOn(context -> QueryObservationListener.OBSERVATION_NAME.equals(context.getName()))
+                .anySatisfy(sql -> {
+                    assertThat(sql.getHighCardinalityKeyValue("db.statement").getValue()).containsIgnoringCase("purchase_bills");
+                    assertThat(sql.getParentObservation().getContextView()).isSameAs(repository);
+                });
+    }
+
+    private Optional<Observation.Context> find(String contextualName) {
+        return recordingHandler.stopped.stream()
+                .filter(context -> contextualName.equals(context.getContextualName()))
+                .findFirst();
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements ObservationHandler<Observation.Context> {
+
+        private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onStop(Observation.Context context) {
+            stopped.add(context);
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return true;
+        }
+    }
+}